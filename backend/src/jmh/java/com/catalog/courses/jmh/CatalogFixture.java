@@ -0,0 +1,92 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.CoursesApplication;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.search.CourseSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Sobe a aplicação (sem servidor web) sobre um H2 em memória e carrega
+ * {@code size} cursos sintéticos via JDBC, sem gerar eventos, para que a medição
+ * não concorra com a entrega assíncrona da carga inicial.
+ */
+final class CatalogFixture {
+
+    private static final String[] TOPICS = {
+            "Java", "Spring Boot", "Angular", "Kotlin", "SQL", "Docker", "Kubernetes", "Python",
+            "Arquitetura", "Testes", "Segurança", "Cloud", "React", "Go", "Rust", "Dados"
+    };
+
+    private CatalogFixture() {
+    }
+
+    /** {@code overrides} no formato {@code chave=valor}, com precedência sobre application.properties. */
+    static ConfigurableApplicationContext start(int size, String... overrides) {
+        String[] args = new String[overrides.length + 1];
+        args[0] = "--logging.level.com.catalog.courses=WARN";
+        for (int i = 0; i < overrides.length; i++) {
+            args[i + 1] = "--" + overrides[i];
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CoursesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("DELETE FROM course");
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Course course = course(i);
+            rows.add(new Object[]{i + 1L, course.getTitulo(), course.getCategoria(), course.getCargaHoraria()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO course (id, titulo, categoria, carga_horaria) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ALTER SEQUENCE course_seq RESTART WITH " + (size + 1));
+        context.getBean(CourseSearchIndex.class).build();
+        return context;
+    }
+
+    static long[] ids(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM course ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * {@code count} amostras de índices em {@code [0, n)} com distribuição Zipf de
+     * expoente {@code s}: poucos itens concentram a maior parte dos acessos.
+     */
+    static int[] zipf(int n, double s, int count, long seed) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, s);
+            cdf[i] = sum;
+        }
+        Random random = new Random(seed);
+        int[] samples = new int[count];
+        for (int i = 0; i < count; i++) {
+            int pos = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            samples[i] = Math.min(pos >= 0 ? pos : -pos - 1, n - 1);
+        }
+        return samples;
+    }
+
+    static Course course(int i) {
+        return new Course(null, TOPICS[i % TOPICS.length] + " módulo " + i,
+                "Categoria " + (i % 20), 10 + i % 90);
+    }
+
+    static List<Course> courses(int size) {
+        List<Course> courses = new ArrayList<>(size);
+        IntStream.range(0, size).forEach(i -> courses.add(course(i)));
+        return courses;
+    }
+}
@@ -0,0 +1,98 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.cache.CourseCache;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras com e sem {@link CourseCache}, com chaves em distribuição Zipf
+ * (s = {@code skew}) sobre o catálogo. Com {@code cacheSize} bem menor que o
+ * catálogo, a taxa de acerto fica próxima da de tráfego real; ela é impressa
+ * ao final de cada execução. As buscas guardam até {@code 10 * cacheSize}
+ * cursos no total, somando os resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseCacheBenchmark {
+
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    @Param({"2000"})
+    public int cacheSize;
+
+    @Param({"1.0"})
+    public double skew;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private long[] ids;
+    private String[] queries;
+    private int[] idSamples;
+    private int[] querySamples;
+    private int nextId;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(size,
+                "catalog.cache.enabled=" + cache,
+                "catalog.cache.by-id.max-size=" + cacheSize,
+                "catalog.cache.search.max-courses=" + 10 * cacheSize);
+        courseService = context.getBean(CourseService.class);
+        ids = CatalogFixture.ids(context);
+        queries = new String[Math.min(size, 10 * cacheSize)];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = "módulo " + (i * 7919 % size);
+        }
+        idSamples = CatalogFixture.zipf(ids.length, skew, SAMPLES, 42);
+        querySamples = CatalogFixture.zipf(queries.length, skew, SAMPLES, 43);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CourseCache courseCache = context.getBean(CourseCache.class);
+        if (cache) {
+            System.out.printf("%nTaxa de acerto: por ID %.1f%%, busca %.1f%%%n",
+                    100 * courseCache.byIdStats().getHitRatio(), 100 * courseCache.searchStats().getHitRatio());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<CourseDTO> findCourseById() {
+        return courseService.findCourseById(ids[idSamples[nextId++ & (SAMPLES - 1)]]);
+    }
+
+    @Benchmark
+    public List<CourseDTO> searchCourses() {
+        return courseService.searchCourses(queries[querySamples[nextQuery++ & (SAMPLES - 1)]]);
+    }
+}
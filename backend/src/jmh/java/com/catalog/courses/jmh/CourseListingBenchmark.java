@@ -0,0 +1,117 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.cache.CourseListingBytes;
+import com.catalog.courses.controller.CourseController;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /courses} sem filtros chamando o handler do controller, com e sem
+ * a listagem pré-serializada de {@link CourseListingBytes}. O corpo vai para um
+ * stream descartável, então {@code -prof gc} mostra só o que o handler aloca.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseListingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean preEncoded;
+
+    @Param({"identity", "gzip"})
+    public String acceptEncoding;
+
+    private ConfigurableApplicationContext context;
+    private CourseController controller;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private long bytesWritten;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(size, "catalog.listing.pre-encoded=" + preEncoded);
+        controller = context.getBean(CourseController.class);
+        request = new MockHttpServletRequest("GET", "/courses");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        response = new DiscardingResponse();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[bytes por resposta] %d%n", bytesWritten);
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getAllCourses() throws IOException {
+        response.reset();
+        controller.getAllCourses(acceptEncoding, new ServletWebRequest(request, response), response);
+        return response;
+    }
+
+    /** Descarta o corpo, contando os bytes da última resposta. */
+    private final class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytesWritten += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            bytesWritten = 0;
+        }
+    }
+}
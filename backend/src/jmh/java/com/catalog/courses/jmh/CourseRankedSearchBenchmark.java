@@ -0,0 +1,72 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.search.CourseSearchIndex;
+import com.catalog.courses.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por relevância ({@code GET /courses/search}) sobre o catálogo sintético
+ * ("Segurança módulo 42", categoria "Categoria 2"...), medida só no índice e no
+ * serviço (índice + leitura dos melhores no banco). Em modo de amostragem, o JMH
+ * imprime p50/p99/p99.9 por consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseRankedSearchBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    /** Sem acento, com erro de digitação, só categoria e um termo presente em todos os títulos. */
+    @Param({"seguranca modulo 4242", "kubernets modlo 777", "categoria 7", "modulo"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private CourseSearchIndex searchIndex;
+    private CourseService courseService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(size);
+        searchIndex = context.getBean(CourseSearchIndex.class);
+        courseService = context.getBean(CourseService.class);
+        System.out.printf("%n[%s] %s%n", query, courseService.rankCourses(query, 3));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<long[]> index() {
+        return searchIndex.rank(query, 20);
+    }
+
+    @Benchmark
+    public List<CourseDTO> service() {
+        return courseService.rankCourses(query, 20);
+    }
+}
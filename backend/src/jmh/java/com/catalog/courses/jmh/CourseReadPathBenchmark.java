@@ -0,0 +1,63 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem completa lida como entidades gerenciadas ({@code findAll}) e como
+ * {@link CourseDTO} montado pela consulta ({@code findAllProjected}). Rode com
+ * {@code -prof gc} para comparar bytes alocados por operação e tempo de GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseReadPathBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private CourseRepository courseRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(size);
+        courseRepository = context.getBean(CourseRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Course> entities() {
+        return courseRepository.findAll();
+    }
+
+    @Benchmark
+    public List<CourseDTO> projections() {
+        return courseRepository.findAllProjected();
+    }
+}
@@ -0,0 +1,87 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caminhos quentes de {@link CourseService} contra um catálogo de {@code size} cursos.
+ * <p>
+ * {@code createCourse} inclui a publicação do evento: a entrega fica em modo
+ * {@code SYNC}, para que os listeners rodem dentro da chamada medida em vez de
+ * só enfileirar. O {@link com.catalog.courses.cache.CourseCache} fica desligado:
+ * {@code findCourseById} e {@code searchCourses} repetem as mesmas chaves e, com
+ * ele, mediriam só acertos de cache (isso é o {@code CourseCacheBenchmark}). O
+ * catálogo cresce durante a medição, por isso o resultado vale para o tamanho
+ * inicial aproximado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** Consulta seletiva: casa com poucos títulos em qualquer tamanho. */
+    @Param({"módulo 42"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private long[] ids;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogFixture.start(size,
+                "catalog.events.dispatch.mode=SYNC",
+                "catalog.cache.enabled=false");
+        courseService = context.getBean(CourseService.class);
+        ids = CatalogFixture.ids(context);
+        next.set(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CourseDTO> searchCourses() {
+        return courseService.searchCourses(query);
+    }
+
+    @Benchmark
+    public Optional<CourseDTO> findCourseById() {
+        return courseService.findCourseById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Course createCourse() {
+        return courseService.createCourse(CatalogFixture.course(next.getAndIncrement()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.catalog.courses.jmh;
+
+import com.catalog.courses.search.SuggestionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de {@code suggest} com prefixos de uma palavra e de várias palavras
+ * sobre títulos sintéticos ("Docker Cloud Web 42"). Em modo de amostragem, o JMH
+ * imprime p50/p99/p99.9 por consulta; a memória retida pela trie e pelas strings
+ * dos títulos é impressa na preparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+
+    private static final String[] WORDS = {
+            "Java", "Spring", "Boot", "Angular", "React", "Python", "Docker", "Kubernetes", "Cloud",
+            "Dados", "Segurança", "Testes", "Arquitetura", "Microserviços", "Fundamentos", "Avançado",
+            "Introdução", "Prático", "Completo", "DevOps", "Redes", "Algoritmos", "Estruturas", "Web"
+    };
+    private static final int PREFIXES = 1 << 16;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private SuggestionTrie trie;
+    private String[] oneWord;
+    private String[] severalWords;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        long beforeTitles = usedHeap();
+        String[] titles = new String[size];
+        for (int i = 0; i < size; i++) {
+            titles[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+        }
+        long beforeTrie = usedHeap();
+        long start = System.nanoTime();
+        trie = new SuggestionTrie();
+        for (String titulo : titles) {
+            trie.add(titulo);
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long trieBytes = usedHeap() - beforeTrie;
+        System.out.printf("%n%,d títulos (%,d nós), construção em %,d ms; trie %,.1f MB, títulos %,.1f MB%n",
+                size, trie.nodeCount(), buildMillis, trieBytes / 1e6, (beforeTrie - beforeTitles) / 1e6);
+
+        oneWord = new String[PREFIXES];
+        severalWords = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String number = Integer.toString(random.nextInt(size));
+            oneWord[i] = random.nextBoolean()
+                    ? word.substring(0, 1 + random.nextInt(word.length()))
+                    : number.substring(0, Math.min(number.length(), 1 + random.nextInt(3)));
+            severalWords[i] = WORDS[random.nextInt(WORDS.length)] + " " + oneWord[i];
+        }
+    }
+
+    @Benchmark
+    public List<String> oneWord() {
+        return trie.suggest(oneWord[next++ & (PREFIXES - 1)], 10);
+    }
+
+    @Benchmark
+    public List<String> severalWords() {
+        return trie.suggest(severalWords[next++ & (PREFIXES - 1)], 10);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
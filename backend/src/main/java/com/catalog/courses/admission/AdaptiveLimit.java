@@ -0,0 +1,90 @@
+package com.catalog.courses.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência AIMD: cresce uma unidade a cada janela de respostas
+ * dentro da latência alvo (1/limite por resposta, como a janela do TCP) enquanto
+ * o limite está sendo usado, e cai para
+ * {@code limite × backoff} quando uma resposta passa do alvo ou falha no
+ * servidor. As quedas acontecem no máximo uma vez por alvo de latência, para
+ * que uma rajada de respostas lentas da mesma fila não derrube o limite até o
+ * mínimo de uma vez.
+ * <p>
+ * {@link #tryAcquire()} nunca espera: sem vaga, a requisição é recusada na hora.
+ */
+public class AdaptiveLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final double backoff;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimate;
+    private long lastDecrease;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos, double backoff) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites inválidos: inicial " + initialLimit
+                    + ", mínimo " + minLimit + ", máximo " + maxLimit);
+        }
+        if (backoff <= 0 || backoff >= 1) {
+            throw new IllegalArgumentException("backoff deve estar entre 0 e 1: " + backoff);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.backoff = backoff;
+        this.limit = initialLimit;
+        this.estimate = initialLimit;
+        this.lastDecrease = System.nanoTime() - targetNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite com a latência observada.
+     *
+     * @param failed resposta de erro do servidor, tratada como sinal de sobrecarga
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int busy = inFlight.getAndDecrement();
+        if (failed || latencyNanos > targetNanos) {
+            decrease(System.nanoTime());
+        } else if (busy * 2 >= limit && limit < maxLimit) {
+            increase();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void decrease(long now) {
+        if (now - lastDecrease >= targetNanos) {
+            lastDecrease = now;
+            estimate = Math.max(minLimit, estimate * backoff);
+            limit = (int) estimate;
+        }
+    }
+
+    private synchronized void increase() {
+        estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,201 @@
+package com.catalog.courses.admission;
+
+import com.catalog.courses.controller.CourseController;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Controle de admissão na frente de {@code /courses}: cada classe de endpoint tem
+ * seu próprio {@link AdaptiveLimit}, e a requisição que chega com o limite da sua
+ * classe esgotado recebe 503 com {@code Retry-After} imediatamente, em vez de
+ * esperar por uma conexão do pool até estourar o timeout.
+ * <p>
+ * As classes separam o que custa diferente: {@code GET /courses/{id}}, as
+ * facetas e as sugestões (cache e memória), as listagens e buscas (varreduras no
+ * banco), a exportação NDJSON e as escritas. Como as buscas têm teto próprio,
+ * abaixo do tamanho do pool, elas não conseguem ocupar todas as conexões nem as
+ * vagas da busca por ID.
+ * <p>
+ * Respostas assíncronas, como o stream NDJSON da listagem, seguram a vaga até o
+ * fim do processamento assíncrono (conclusão, timeout ou erro), não só até o
+ * controller devolver o corpo. Por isso a exportação tem classe própria: um
+ * stream longo segura uma conexão pelo catálogo inteiro e, nas vagas de busca,
+ * deixaria de fora as listagens e páginas, que terminam em milissegundos.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern LOOKUP_PATH = Pattern.compile("/courses/(\\d+|facets|suggest)/?");
+    private static final Pattern STREAM_PATH = Pattern.compile("/courses/?");
+
+    /** Classe de endpoint; cada uma com limite e latência alvo próprios. */
+    public enum EndpointClass {
+        LOOKUP, SEARCH, STREAM, WRITE
+    }
+
+    private final Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final String retryAfter;
+
+    @Autowired
+    public AdmissionControlFilter(Environment environment,
+                                  @Value("${catalog.admission.retry-after:1s}") Duration retryAfter,
+                                  @Value("${catalog.admission.backoff:0.9}") double backoff,
+                                  MeterRegistry meterRegistry) {
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        limits.put(EndpointClass.LOOKUP, limit(environment, "lookup", 32, 4, 256, Duration.ofMillis(50), backoff));
+        limits.put(EndpointClass.SEARCH, limit(environment, "search", 4, 1, 6, Duration.ofMillis(250), backoff));
+        limits.put(EndpointClass.STREAM, limit(environment, "stream", 1, 1, 1, Duration.ofSeconds(30), backoff));
+        limits.put(EndpointClass.WRITE, limit(environment, "write", 2, 1, 2, Duration.ofMillis(500), backoff));
+        limits.forEach((endpointClass, limit) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("catalog.admission.limit", limit, AdaptiveLimit::getLimit)
+                    .description("Limite de concorrência atual da classe de endpoint")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("catalog.admission.in.flight", limit, AdaptiveLimit::getInFlight)
+                    .description("Requisições admitidas em andamento")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("catalog.admission.rejected")
+                    .description("Requisições recusadas por limite de concorrência")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    public static EndpointClass classify(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return EndpointClass.WRITE;
+        }
+        if (LOOKUP_PATH.matcher(request.getRequestURI()).matches()) {
+            return EndpointClass.LOOKUP;
+        }
+        return STREAM_PATH.matcher(request.getRequestURI()).matches() && acceptsNdjson(request)
+                ? EndpointClass.STREAM : EndpointClass.SEARCH;
+    }
+
+    private static boolean acceptsNdjson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.toLowerCase(Locale.ROOT).contains(CourseController.APPLICATION_NDJSON_VALUE);
+    }
+
+    public AdaptiveLimit limit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !(path.equals("/courses") || path.startsWith("/courses/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            rejections.get(endpointClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Capacidade esgotada; tente novamente");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit, response, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limit.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga de uma requisição assíncrona uma única vez: o container
+     * chama {@code onComplete} também depois de um timeout ou erro.
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdaptiveLimit limit;
+        private final HttpServletResponse response;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(AdaptiveLimit limit, HttpServletResponse response, long start) {
+            this.limit = limit;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono na mesma requisição continua com a mesma vaga
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private static AdaptiveLimit limit(Environment environment, String name, int initial, int min, int max,
+                                       Duration target, double backoff) {
+        String prefix = "catalog.admission." + name + ".";
+        return new AdaptiveLimit(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initial),
+                environment.getProperty(prefix + "min-limit", Integer.class, min),
+                environment.getProperty(prefix + "max-limit", Integer.class, max),
+                environment.getProperty(prefix + "target-latency", Duration.class, target).toNanos(),
+                backoff);
+    }
+}
@@ -0,0 +1,94 @@
+package com.catalog.courses.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Versão do catálogo para GETs condicionais: cresce a cada escrita confirmada e
+ * vira o ETag forte das respostas de leitura.
+ * <p>
+ * O incremento acontece só depois do commit. Quem lê captura a versão antes de
+ * consultar os dados, então um ETag nunca descreve dados mais antigos do que ele
+ * (no máximo mais novos, o que só custa um download extra). O instante de boot
+ * entra no ETag para que versões de execuções diferentes não colidam.
+ * <p>
+ * Observadores registrados em {@link #onBump} recebem cada nova versão dentro do
+ * incremento, em ordem, na thread que confirmou a escrita.
+ */
+@Component
+public class CatalogVersion {
+
+    private final Clock clock;
+    private final String epoch;
+    private final List<LongConsumer> bumpListeners = new CopyOnWriteArrayList<>();
+    private volatile Stamp current;
+
+    public CatalogVersion() {
+        this(Clock.systemUTC());
+    }
+
+    CatalogVersion(Clock clock) {
+        this.clock = clock;
+        long now = clock.millis();
+        this.epoch = Long.toString(now, 36);
+        this.current = stamp(0, now);
+    }
+
+    public Stamp current() {
+        return current;
+    }
+
+    /** Incrementa a versão após o commit da transação corrente, ou já, fora de transação. */
+    public void bumpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+        } else {
+            bump();
+        }
+    }
+
+    /** Incrementa a versão imediatamente. */
+    public synchronized void bump() {
+        current = stamp(current.getVersion() + 1, clock.millis());
+        for (LongConsumer listener : bumpListeners) {
+            listener.accept(current.getVersion());
+        }
+    }
+
+    public void onBump(LongConsumer listener) {
+        bumpListeners.add(listener);
+    }
+
+    private Stamp stamp(long version, long lastModified) {
+        String tag = epoch + "-" + version;
+        return new Stamp(version, "\"" + tag + "\"", "\"" + tag + "-gzip\"", lastModified);
+    }
+
+    /**
+     * Versão, ETags já formatados e instante da última alteração (epoch millis).
+     * A representação gzip tem ETag próprio, como exige um ETag forte.
+     */
+    @lombok.Value
+    public static class Stamp {
+        long version;
+        String etag;
+        String gzipEtag;
+        long lastModified;
+
+        /** ETag da representação em outro formato ({@code cbor}, {@code smile}), distinto do JSON. */
+        public String etagFor(String format) {
+            return etag.substring(0, etag.length() - 1) + "-" + format + "\"";
+        }
+    }
+}
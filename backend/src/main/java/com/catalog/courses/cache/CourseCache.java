@@ -0,0 +1,212 @@
+package com.catalog.courses.cache;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura em memória para busca por ID e por título, limitado por
+ * tamanho e por TTL. As buscas são limitadas pelo total de cursos guardados
+ * ({@code catalog.cache.search.max-courses}), não pela quantidade de consultas:
+ * um termo curto que casa com boa parte do catálogo pesa o que ocupa.
+ * <p>
+ * A invalidação acompanha as escritas: um curso novo remove apenas a entrada do
+ * seu ID e as buscas cujo termo aparece no título. Ela roda no próprio commit,
+ * antes do incremento de {@link CatalogVersion}, e não na entrega assíncrona dos
+ * eventos: senão uma leitura entre os dois receberia o ETag novo com o resultado
+ * antigo do cache, e os GETs condicionais seguintes o manteriam com 304. Um
+ * carregamento que começou antes de uma invalidação não é guardado
+ * ({@link #version}), evitando repovoar o cache com um resultado já
+ * desatualizado. A janela vai da invalidação até o fim da transação, depois do
+ * incremento: uma leitura que começa entre os dois ainda vê a versão antiga do
+ * catálogo, pode ir a uma réplica que não aplicou o commit e por isso também não
+ * é guardada. Leituras dentro de uma transação com escrita ignoram o cache para
+ * enxergarem as próprias alterações.
+ * <p>
+ * O cache guarda cópias próprias e devolve cópias a cada acerto, já que
+ * {@link CourseDTO} é mutável e seria compartilhado entre todas as requisições.
+ * <p>
+ * Alterações feitas fora da API (sem evento) só são percebidas após o TTL.
+ */
+@Component
+public class CourseCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Optional<CourseDTO>> byId;
+    private final Cache<String, List<CourseDTO>> searches;
+    /** Ímpar enquanto há invalidação em andamento, até o incremento de {@link CatalogVersion}. */
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public CourseCache(@Value("${catalog.cache.enabled:true}") boolean enabled,
+                       @Value("${catalog.cache.by-id.max-size:10000}") long byIdMaxSize,
+                       @Value("${catalog.cache.search.max-courses:100000}") long searchMaxCourses,
+                       @Value("${catalog.cache.ttl:10m}") Duration ttl,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(byIdMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.searches = Caffeine.newBuilder()
+                .maximumWeight(searchMaxCourses)
+                .<String, List<CourseDTO>>weigher((query, courses) -> 1 + courses.size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "courses.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, searches, "courses.search");
+    }
+
+    public Optional<CourseDTO> findById(Long id, Function<Long, Optional<CourseDTO>> loader) {
+        if (!usable()) {
+            return loader.apply(id);
+        }
+        Optional<CourseDTO> cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return cached.map(CourseCache::copyOf);
+        }
+        long seen = version.get();
+        Optional<CourseDTO> loaded = loader.apply(id);
+        putIfCurrent(byId, id, loaded.map(CourseCache::copyOf), seen);
+        return loaded;
+    }
+
+    public List<CourseDTO> search(String query, Function<String, List<CourseDTO>> loader) {
+        if (!usable()) {
+            return loader.apply(query);
+        }
+        List<CourseDTO> cached = searches.getIfPresent(query);
+        if (cached != null) {
+            return copiesOf(cached);
+        }
+        long seen = version.get();
+        List<CourseDTO> loaded = loader.apply(query);
+        putIfCurrent(searches, query, copiesOf(loaded), seen);
+        return loaded;
+    }
+
+    /**
+     * Invalida as entradas de {@code courses} após o commit da transação corrente,
+     * ou já, fora de transação. Deve ser chamado antes de
+     * {@link CatalogVersion#bumpAfterCommit()}, para que a invalidação preceda o
+     * novo ETag (as sincronizações rodam na ordem de registro). Nada carregado
+     * até o fim da transação é guardado: o {@code afterCompletion} só roda depois
+     * de todos os {@code afterCommit}, inclusive o do incremento.
+     */
+    public void invalidateAfterCommit(List<Course> courses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean open;
+
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                    open = true;
+                    invalidate(courses);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (open) {
+                        version.incrementAndGet();
+                    }
+                }
+            });
+        } else {
+            version.incrementAndGet();
+            invalidate(courses);
+            version.incrementAndGet();
+        }
+    }
+
+    public void invalidateAll() {
+        version.addAndGet(2);
+        byId.invalidateAll();
+        searches.invalidateAll();
+    }
+
+    public CacheStats byIdStats() {
+        return CacheStats.of(byId);
+    }
+
+    public CacheStats searchStats() {
+        return CacheStats.of(searches);
+    }
+
+    private void invalidate(List<Course> courses) {
+        String[] titles = new String[courses.size()];
+        for (int i = 0; i < titles.length; i++) {
+            Course course = courses.get(i);
+            byId.invalidate(course.getId());
+            titles[i] = course.getTitulo() == null ? "" : course.getTitulo().toUpperCase(Locale.ROOT);
+        }
+        searches.asMap().keySet().removeIf(query -> matchesAny(query.toUpperCase(Locale.ROOT), titles));
+    }
+
+    private static boolean matchesAny(String needle, String[] titles) {
+        for (String title : titles) {
+            if (title.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <K, V> void putIfCurrent(Cache<K, V> cache, K key, V value, long seen) {
+        if ((seen & 1) == 0 && version.get() == seen) {
+            cache.put(key, value);
+            if (version.get() != seen) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    private static CourseDTO copyOf(CourseDTO course) {
+        return new CourseDTO(course.getId(), course.getTitulo(), course.getCategoria(), course.getCargaHoraria());
+    }
+
+    private static List<CourseDTO> copiesOf(List<CourseDTO> courses) {
+        return courses.stream().map(CourseCache::copyOf).toList();
+    }
+
+    private boolean usable() {
+        return enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /** Estatísticas acumuladas de um dos caches. */
+    @lombok.Value
+    public static class CacheStats {
+        long hits;
+        long misses;
+        long evictions;
+        long size;
+
+        static CacheStats of(Cache<?, ?> cache) {
+            com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+            return new CacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                    cache.estimatedSize());
+        }
+
+        public double getHitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.catalog.courses.cache;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CoursesImportedEvent;
+import com.catalog.courses.service.CourseService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Listagem completa do catálogo já serializada em JSON, nas variantes identidade
+ * e gzip, para que {@code GET /courses} sem filtros apenas copie bytes prontos
+ * para a resposta.
+ * <p>
+ * Cada snapshot guarda o {@link CatalogVersion.Stamp} capturado antes da leitura
+ * e é servido com os ETags desse stamp. A reconstrução roda sempre em segundo
+ * plano, numa única thread: os eventos de criação a agendam, e uma requisição
+ * que encontra um snapshot de versão anterior também, mas continua recebendo o
+ * snapshot anterior, com o seu ETag, até a troca. Rajadas (como uma importação
+ * em vários lotes) se juntam em uma só reconstrução. Nenhuma requisição espera
+ * pela serialização do catálogo; antes do primeiro snapshot, e dentro de
+ * transações, {@link #current()} devolve {@code null} e o controller lê do banco.
+ */
+@Component
+@Slf4j
+public class CourseListingBytes {
+
+    private final boolean enabled;
+    private final CourseService courseService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectWriter listWriter;
+    private final ExecutorService rebuilder =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("course-listing-", 0).factory());
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Encoded current;
+
+    @Autowired
+    public CourseListingBytes(@Value("${catalog.listing.pre-encoded:true}") boolean enabled,
+                              CourseService courseService, CatalogVersion catalogVersion,
+                              ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.courseService = courseService;
+        this.catalogVersion = catalogVersion;
+        this.listWriter = objectMapper.writerFor(new TypeReference<List<CourseDTO>>() {});
+    }
+
+    /**
+     * Último snapshot pronto, que pode estar uma versão atrás da atual enquanto a
+     * reconstrução agendada não termina; {@code null} quando desabilitado, dentro
+     * de uma transação ou antes do primeiro snapshot.
+     */
+    public Encoded current() {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Encoded encoded = current;
+        if (encoded == null || encoded.getVersion() != catalogVersion.current().getVersion()) {
+            scheduleRebuild();
+        }
+        return encoded;
+    }
+
+    /**
+     * Serializa o catálogo de novo, a menos que o snapshot já esteja na versão
+     * atual, e troca o snapshot servido. Roda na thread de reconstrução.
+     */
+    Encoded rebuild() {
+        CatalogVersion.Stamp stamp = catalogVersion.current();
+        Encoded encoded = current;
+        if (encoded != null && encoded.getVersion() == stamp.getVersion()) {
+            return encoded;
+        }
+        try {
+            byte[] identity = listWriter.writeValueAsBytes(courseService.getAllCourses());
+            encoded = new Encoded(stamp, identity, gzip(identity));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        current = encoded;
+        log.debug("Listagem pré-serializada na versão {}: {} bytes ({} com gzip)",
+                stamp.getVersion(), encoded.getIdentity().length, encoded.getGzip().length);
+        return encoded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void handleApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void handleCourseCreatedEvent(CourseCreatedEvent event) {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void handleCoursesImportedEvent(CoursesImportedEvent event) {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (enabled && rebuildPending.compareAndSet(false, true)) {
+            try {
+                rebuilder.execute(() -> {
+                    rebuildPending.set(false);
+                    try {
+                        rebuild();
+                    } catch (RuntimeException e) {
+                        log.warn("Falha ao pré-serializar a listagem de cursos", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Encerrando: as requisições restantes seguem com o último snapshot
+                rebuildPending.set(false);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuilder.shutdownNow();
+        rebuilder.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** Bytes prontos da listagem e a versão do catálogo a que correspondem. Não devem ser alterados. */
+    @lombok.Value
+    public static class Encoded {
+        CatalogVersion.Stamp stamp;
+        byte[] identity;
+        byte[] gzip;
+
+        public long getVersion() {
+            return stamp.getVersion();
+        }
+    }
+}
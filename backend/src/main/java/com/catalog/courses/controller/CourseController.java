@@ -1,67 +1,507 @@
 package com.catalog.courses.controller;
 
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseListingBytes;
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.dto.CourseFilter;
+import com.catalog.courses.dto.CourseImportResult;
+import com.catalog.courses.dto.CoursePage;
+import com.catalog.courses.facets.CourseFacets;
+import com.catalog.courses.idempotency.IdempotencyStore;
+import com.catalog.courses.metrics.CatalogMetrics;
 import com.catalog.courses.model.Course;
+import com.catalog.courses.search.SuggestionTrie;
+import com.catalog.courses.service.CourseImportService;
 import com.catalog.courses.service.CourseService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/courses")
 @Tag(name = "Courses", description = "API para gerenciamento de cursos")
 public class CourseController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+    /** Segundos sugeridos enquanto as facetas são calculadas na subida. */
+    private static final String FACETS_RETRY_AFTER = "1";
+    /** Formatos das respostas negociadas, na ordem dos conversores do Spring MVC. */
+    private static final List<MediaType> NEGOTIATED =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
     private final CourseService courseService;
+    private final CourseImportService importService;
+    private final CourseFacets courseFacets;
+    private final CatalogVersion catalogVersion;
+    private final CourseListingBytes listingBytes;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter courseWriter;
+    private final ObjectReader courseReader;
+    private final ObjectReader cborCourseReader;
+    private final ObjectReader smileCourseReader;
+
+    private final Timer createTimer;
+    private final Timer importTimer;
+    private final Timer listTimer;
+    private final Timer pageTimer;
+    private final Timer streamTimer;
+    private final Timer findByIdTimer;
+    private final Timer rankTimer;
+    private final Timer suggestTimer;
 
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, CourseImportService importService,
+                            CourseFacets courseFacets, CatalogVersion catalogVersion,
+                            CourseListingBytes listingBytes, IdempotencyStore idempotencyStore,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.courseService = courseService;
+        this.importService = importService;
+        this.courseFacets = courseFacets;
+        this.catalogVersion = catalogVersion;
+        this.listingBytes = listingBytes;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.createTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "create");
+        this.importTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "import");
+        this.listTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "list");
+        this.pageTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "page");
+        this.streamTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "stream");
+        this.findByIdTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "findById");
+        this.rankTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "rank");
+        this.suggestTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.CONTROLLER, "suggest");
+        this.courseReader = objectMapper.readerFor(Course.class);
+        this.cborCourseReader = Jackson2ObjectMapperBuilder.cbor().build().readerFor(Course.class);
+        this.smileCourseReader = Jackson2ObjectMapperBuilder.smile().build().readerFor(Course.class);
+        this.courseWriter = objectMapper.writerFor(CourseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
     @Operation(summary = "Criar um novo curso", description = "Cria um novo curso no catálogo")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Curso criado com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já usada com outro corpo")
+    })
+    public ResponseEntity<Course> createCourse(
+            @Valid @RequestBody Course course,
+            @Parameter(description = "Chave para repetir a criação com segurança; repetições recebem o mesmo curso")
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        long start = System.nanoTime();
+        try {
+            if (idempotencyKey == null) {
+                return new ResponseEntity<>(courseService.createCourse(course), HttpStatus.CREATED);
+            }
+            IdempotencyStore.Outcome outcome =
+                    idempotencyStore.execute(idempotencyKey, course, () -> courseService.createCourse(course));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IdempotencyStore.REPLAYED_HEADER, Boolean.toString(outcome.replayed()))
+                    .body(outcome.course());
+        } finally {
+            CatalogMetrics.record(createTimer, start);
+        }
+    }
+
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Importar cursos em lote",
+            description = "Recebe um array (JSON, CBOR ou Smile) ou NDJSON, valida cada item e grava os válidos em lotes JDBC")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; falhas listadas por item")
     })
-    public ResponseEntity<Course> createCourse(@Valid @RequestBody Course course) {
-        Course createdCourse = courseService.createCourse(course);
-        return new ResponseEntity<>(createdCourse, HttpStatus.CREATED);
+    public ResponseEntity<CourseImportResult> importCourses(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        long start = System.nanoTime();
+        try (MappingIterator<Course> courses = readerFor(contentType).readValues(body)) {
+            return ResponseEntity.ok(importService.importCourses(courses));
+        } finally {
+            CatalogMetrics.record(importTimer, start);
+        }
     }
 
     @GetMapping
-    @Operation(summary = "Listar cursos", description = "Lista todos os cursos ou busca por título")
+    @Operation(summary = "Listar cursos",
+            description = "Lista todos os cursos ou busca por título, categoria e faixa de carga horária")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado"),
+            @ApiResponse(responseCode = "400", description = "Faixa de carga horária inválida")
+    })
+    public ResponseEntity<List<CourseDTO>> getCourses(
+            @Parameter(description = "Termo de busca para filtrar cursos por título")
+            @RequestParam(required = false) String q,
+            @ParameterObject CourseFilter filter,
+            WebRequest request) {
+        validate(filter);
+        if (notModified(request)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            List<CourseDTO> courses = courseService.searchCourses(q, filter);
+            return ResponseEntity.ok(courses);
+        } finally {
+            CatalogMetrics.record(listTimer, start);
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE,
+            params = {"!q", "!categoria", "!minHoras", "!maxHoras", "!limit"})
+    @Operation(summary = "Listar todos os cursos",
+            description = "Catálogo completo a partir de bytes já serializados; gzip quando aceito pelo cliente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado")
+    })
+    public void getAllCourses(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request,
+            HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // O snapshot pode estar uma versão atrás durante a reconstrução; vai com o próprio ETag
+        CourseListingBytes.Encoded encoded = listingBytes.current();
+        CatalogVersion.Stamp stamp = encoded != null ? encoded.getStamp() : catalogVersion.current();
+        if (request.checkNotModified(gzip ? stamp.getGzipEtag() : stamp.getEtag(), stamp.getLastModified())) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            if (encoded == null) {
+                try (OutputStream out = gzip ? gzipBody(response) : response.getOutputStream()) {
+                    objectMapper.writeValue(out, courseService.getAllCourses());
+                }
+                return;
+            }
+            byte[] body = gzip ? encoded.getGzip() : encoded.getIdentity();
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        } finally {
+            CatalogMetrics.record(listTimer, start);
+        }
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar cursos paginados",
+            description = "Lista cursos em ordem de ID a partir do cursor `after`, opcionalmente filtrando por título")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado"),
+            @ApiResponse(responseCode = "400", description = "Tamanho de página inválido")
+    })
+    public ResponseEntity<CoursePage> getCoursesPage(
+            @Parameter(description = "Termo de busca para filtrar cursos por título")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Quantidade máxima de cursos na página (1 a " + CourseService.MAX_PAGE_SIZE + ")")
+            @RequestParam int limit,
+            @Parameter(description = "Cursor retornado em `nextCursor` pela página anterior")
+            @RequestParam(required = false) Long after,
+            @ParameterObject CourseFilter filter,
+            WebRequest request) {
+        validate(filter);
+        if (limit < 1 || limit > CourseService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit deve estar entre 1 e " + CourseService.MAX_PAGE_SIZE);
+        }
+        if (notModified(request)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return ResponseEntity.ok(courseService.findPage(q, filter, after, limit));
+        } finally {
+            CatalogMetrics.record(pageTimer, start);
+        }
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar catálogo em NDJSON",
+            description = "Transmite os cursos, um JSON por linha, à medida que são lidos do banco")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso")
+            @ApiResponse(responseCode = "200", description = "Catálogo transmitido com sucesso")
     })
-    public ResponseEntity<List<Course>> getCourses(
+    public ResponseEntity<StreamingResponseBody> streamCourses(
             @Parameter(description = "Termo de busca para filtrar cursos por título")
-            @RequestParam(required = false) String q) {
-        List<Course> courses = courseService.searchCourses(q);
-        return ResponseEntity.ok(courses);
+            @RequestParam(required = false) String q,
+            @ParameterObject CourseFilter filter) {
+        validate(filter);
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            try (JsonGenerator generator = courseWriter.createGenerator(out)) {
+                Consumer<CourseDTO> writeLine = course -> {
+                    try {
+                        courseWriter.writeValue(generator, course);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                if ((q == null || q.isEmpty()) && !filter.hasCriteria()) {
+                    courseService.streamAllCourses(writeLine);
+                } else {
+                    courseService.searchCourses(q, filter).forEach(writeLine);
+                }
+            } finally {
+                CatalogMetrics.record(streamTimer, start);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar cursos por relevância",
+            description = "Os cursos mais relevantes para `q` em título e categoria, sem diferenciar acentos "
+                    + "e tolerando pequenos erros de digitação, do mais ao menos relevante")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cursos retornados em ordem de relevância"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado"),
+            @ApiResponse(responseCode = "400", description = "Quantidade de resultados inválida")
+    })
+    public ResponseEntity<List<CourseDTO>> rankCourses(
+            @Parameter(description = "Termo de busca, ex.: introducao, javva, backend")
+            @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de cursos (1 a " + CourseService.MAX_RANKED_RESULTS + ")")
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        if (limit < 1 || limit > CourseService.MAX_RANKED_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit deve estar entre 1 e " + CourseService.MAX_RANKED_RESULTS);
+        }
+        if (notModified(request)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            return ResponseEntity.ok(courseService.rankCourses(q, limit));
+        } finally {
+            CatalogMetrics.record(rankTimer, start);
+        }
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir títulos para autocompletar",
+            description = "Títulos com uma palavra começando pela última palavra de `prefix` (sem diferenciar "
+                    + "acentos), mais curtos primeiro; palavras anteriores precisam aparecer inteiras no título")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Títulos sugeridos"),
+            @ApiResponse(responseCode = "400", description = "Quantidade de sugestões inválida")
+    })
+    public List<String> suggestTitles(
+            @Parameter(description = "Texto digitado até agora, ex.: jav, introducao ao ja")
+            @RequestParam String prefix,
+            @Parameter(description = "Quantidade máxima de títulos (1 a " + SuggestionTrie.MAX_SUGGESTIONS + ")")
+            @RequestParam(defaultValue = "10") int k) {
+        if (k < 1 || k > SuggestionTrie.MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "k deve estar entre 1 e " + SuggestionTrie.MAX_SUGGESTIONS);
+        }
+        long start = System.nanoTime();
+        try {
+            return courseService.suggestTitles(prefix, k);
+        } finally {
+            CatalogMetrics.record(suggestTimer, start);
+        }
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Totais por categoria",
+            description = "Quantidade de cursos e carga horária total por categoria, mantidas em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totais retornados com sucesso"),
+            @ApiResponse(responseCode = "503", description = "Totais ainda sendo calculados após a subida")
+    })
+    public ResponseEntity<List<CategoryFacet>> getFacets() {
+        return courseFacets.getFacets()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, FACETS_RETRY_AFTER)
+                        .build());
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar curso por ID", description = "Retorna um curso específico pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Curso retornado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde o ETag informado"),
             @ApiResponse(responseCode = "404", description = "Curso não encontrado")
     })
-    public ResponseEntity<Course> getCourseById(
+    public ResponseEntity<CourseDTO> getCourseById(
             @Parameter(description = "ID do curso a ser buscado")
-            @PathVariable Long id) {
-        Optional<Course> courseOpt = courseService.findCourseById(id);
-        return courseOpt.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+            @PathVariable Long id,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            Optional<CourseDTO> courseOpt = courseService.findCourseById(id);
+            return courseOpt.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } finally {
+            CatalogMetrics.record(findByIdTimer, start);
+        }
+    }
+
+    /**
+     * Responde 304 quando {@code If-None-Match}/{@code If-Modified-Since} batem com a
+     * versão atual do catálogo; caso contrário apenas acrescenta {@code ETag} e
+     * {@code Last-Modified} à resposta. Não consulta o banco. CBOR e Smile têm
+     * ETags próprios, como a variante gzip, já que os bytes diferem dos do JSON.
+     */
+    private boolean notModified(WebRequest request) {
+        CatalogVersion.Stamp stamp = catalogVersion.current();
+        MediaType format = negotiatedFormat(request.getHeader(HttpHeaders.ACCEPT));
+        String etag;
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            etag = stamp.etagFor("cbor");
+        } else if (APPLICATION_SMILE.equals(format)) {
+            etag = stamp.etagFor("smile");
+        } else {
+            etag = stamp.getEtag();
+        }
+        return request.checkNotModified(etag, stamp.getLastModified());
+    }
+
+    /**
+     * Formato que a negociação do Spring MVC vai escolher para {@code accept}: o de
+     * maior qualidade e, no empate, o que vem antes no cabeçalho; um curinga fica
+     * com o primeiro de {@link #NEGOTIATED}. JSON quando o cabeçalho falta ou é
+     * inválido (a resposta nesse caso nem chega a usar o ETag).
+     */
+    static MediaType negotiatedFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        try {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                for (MediaType format : NEGOTIATED) {
+                    if (accepted.isCompatibleWith(format)) {
+                        compatible.add(format.copyQualityValue(accepted));
+                    }
+                }
+            }
+            MimeTypeUtils.sortBySpecificity(compatible);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        return compatible.isEmpty() ? MediaType.APPLICATION_JSON : compatible.get(0).removeQualityValue();
+    }
+
+    private ObjectReader readerFor(MediaType contentType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return cborCourseReader;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smileCourseReader;
+        }
+        return courseReader;
+    }
+
+    private static OutputStream gzipBody(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return new GZIPOutputStream(response.getOutputStream());
+    }
+
+    /**
+     * {@code gzip} presente em {@code Accept-Encoding} e não recusado com {@code q=0}.
+     * Percorre o cabeçalho por índices, sem criar strings intermediárias.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int length = acceptEncoding.length();
+        for (int from = 0; from < length; ) {
+            int end = acceptEncoding.indexOf(',', from);
+            end = end < 0 ? length : end;
+            int params = acceptEncoding.indexOf(';', from);
+            params = params < 0 || params > end ? end : params;
+            int first = skipSpaces(acceptEncoding, from, params);
+            int last = params;
+            while (last > first && acceptEncoding.charAt(last - 1) == ' ') {
+                last--;
+            }
+            if (last - first == 4 && acceptEncoding.regionMatches(true, first, "gzip", 0, 4)) {
+                return !zeroQuality(acceptEncoding, params, end);
+            }
+            from = end + 1;
+        }
+        return false;
+    }
+
+    private static boolean zeroQuality(String header, int from, int end) {
+        int q = header.indexOf("q=", from);
+        if (q < 0 || q >= end) {
+            return false;
+        }
+        for (int i = q + 2; i < end; i++) {
+            char c = header.charAt(i);
+            if (c != '0' && c != '.' && c != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpaces(String text, int from, int end) {
+        while (from < end && text.charAt(from) == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static void validate(CourseFilter filter) {
+        if (!filter.isValidRange()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minHoras deve ser menor ou igual a maxHoras");
+        }
     }
-}
\ No newline at end of file
+}
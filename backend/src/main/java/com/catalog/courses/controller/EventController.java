@@ -1,27 +1,59 @@
 package com.catalog.courses.controller;
 
-import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CourseEventBroadcaster;
 import com.catalog.courses.event.CourseEventListener;
+import com.catalog.courses.event.StoredCourseEvent;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/events")
+@Tag(name = "Events", description = "Histórico de eventos de criação de cursos")
 public class EventController {
 
+    public static final int MAX_LIMIT = 1000;
+
     private final CourseEventListener eventListener;
+    private final CourseEventBroadcaster broadcaster;
 
     @Autowired
-    public EventController(CourseEventListener eventListener) {
+    public EventController(CourseEventListener eventListener, CourseEventBroadcaster broadcaster) {
         this.eventListener = eventListener;
+        this.broadcaster = broadcaster;
     }
 
     @GetMapping
-    public List<CourseCreatedEvent> getEvents() {
-        return eventListener.getEvents();
+    @Operation(summary = "Listar eventos", description = "Lista os eventos retidos (em memória ou no log em disco) com sequência maior que `after`")
+    public List<StoredCourseEvent> getEvents(
+            @Parameter(description = "Última sequência já recebida pelo cliente")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Quantidade máxima de eventos (1 a " + MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + MAX_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        return eventListener.getEvents(after, limit);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar eventos (SSE)",
+            description = "Envia cada evento de criação de curso assim que ocorre; retoma a partir de `Last-Event-ID`")
+    public SseEmitter streamEvents(
+            @Parameter(description = "Sequência do último evento recebido, para retomar a assinatura")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return broadcaster.subscribe(lastEventId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.catalog.courses.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+/**
+ * {@code Vary: Accept} nas respostas de {@code /courses} e {@code /events}: o
+ * formato (JSON, CBOR, Smile, NDJSON, SSE) sai da negociação pelo {@code Accept},
+ * então um cache intermediário não pode entregar a resposta de um formato a quem
+ * pediu outro. Roda antes de cada handler, para valer também nos 304.
+ */
+@ControllerAdvice(assignableTypes = {CourseController.class, EventController.class})
+public class VaryByAcceptAdvice {
+
+    @ModelAttribute
+    public void varyByAccept(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+}
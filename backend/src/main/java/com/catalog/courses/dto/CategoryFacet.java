@@ -0,0 +1,22 @@
+package com.catalog.courses.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Totais de uma categoria do catálogo")
+public class CategoryFacet {
+
+    @Schema(description = "Categoria; nula para cursos sem categoria", example = "Programação")
+    private String categoria;
+
+    @Schema(description = "Quantidade de cursos na categoria", example = "12")
+    private long cursos;
+
+    @Schema(description = "Soma da carga horária dos cursos da categoria", example = "480")
+    private long cargaHorariaTotal;
+}
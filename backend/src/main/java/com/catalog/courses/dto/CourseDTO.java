@@ -1,22 +1,34 @@
 package com.catalog.courses.dto;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Curso como devolvido pelas leituras. É montado direto pela consulta
+ * ({@code SELECT new ...CourseDTO(...)}), sem passar por entidades gerenciadas;
+ * a entidade {@code Course} fica restrita às escritas.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Schema(description = "Curso do catálogo")
 public class CourseDTO {
+
+    @Schema(description = "ID único do curso", example = "1")
     private Long id;
     
     @NotBlank(message = "Título é obrigatório")
+    @Schema(description = "Título do curso", example = "Java Fundamentals")
     private String titulo;
     
+    @Schema(description = "Categoria do curso", example = "Programação")
     private String categoria;
     
     @Min(value = 1, message = "Carga horária deve ser maior que zero")
+    @Schema(description = "Carga horária do curso em horas", example = "40", minimum = "1")
     private int cargaHoraria;
-}
\ No newline at end of file
+}
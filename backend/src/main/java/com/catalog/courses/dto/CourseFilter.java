@@ -0,0 +1,30 @@
+package com.catalog.courses.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Filtros por categoria e faixa de carga horária")
+public class CourseFilter {
+
+    @Schema(description = "Categoria exata do curso", example = "Programação")
+    private String categoria;
+
+    @Schema(description = "Carga horária mínima (inclusiva)", example = "20")
+    private Integer minHoras;
+
+    @Schema(description = "Carga horária máxima (inclusiva)", example = "60")
+    private Integer maxHoras;
+
+    public boolean hasCriteria() {
+        return (categoria != null && !categoria.isEmpty()) || minHoras != null || maxHoras != null;
+    }
+
+    public boolean isValidRange() {
+        return minHoras == null || maxHoras == null || minHoras <= maxHoras;
+    }
+}
@@ -0,0 +1,38 @@
+package com.catalog.courses.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de uma importação em lote")
+public class CourseImportResult {
+
+    @Schema(description = "Itens lidos do corpo da requisição", example = "1000")
+    private int received;
+
+    @Schema(description = "Cursos efetivamente criados", example = "998")
+    private int created;
+
+    @Schema(description = "Itens rejeitados, identificados pela posição no corpo")
+    private List<ItemFailure> failures = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Falha de um item da importação")
+    public static class ItemFailure {
+
+        @Schema(description = "Posição do item no corpo (a partir de 0)", example = "17")
+        private int index;
+
+        @Schema(description = "Motivos da rejeição")
+        private List<String> errors;
+    }
+}
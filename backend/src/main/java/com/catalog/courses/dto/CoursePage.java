@@ -0,0 +1,21 @@
+package com.catalog.courses.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de cursos ordenada por ID")
+public class CoursePage {
+
+    @Schema(description = "Cursos da página")
+    private List<CourseDTO> items;
+
+    @Schema(description = "Cursor para a próxima página (valor de `after`); nulo na última página", example = "20")
+    private Long nextCursor;
+}
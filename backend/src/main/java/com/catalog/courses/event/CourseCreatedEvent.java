@@ -4,6 +4,8 @@ import com.catalog.courses.model.Course;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Clock;
+
 @Getter
 public class CourseCreatedEvent extends ApplicationEvent {
     private final Course course;
@@ -12,4 +14,9 @@ public class CourseCreatedEvent extends ApplicationEvent {
         super(source);
         this.course = course;
     }
+
+    CourseCreatedEvent(Object source, Course course, Clock clock) {
+        super(source, clock);
+        this.course = course;
+    }
 }
\ No newline at end of file
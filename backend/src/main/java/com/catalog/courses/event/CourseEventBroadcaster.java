@@ -0,0 +1,205 @@
+package com.catalog.courses.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Entrega eventos do {@link CourseEventStore} a assinantes SSE.
+ * <p>
+ * Cada assinante guarda apenas o seu cursor sobre o buffer circular e é drenado
+ * na sua própria thread virtual; o publicador só sinaliza. Um assinante que
+ * acumule mais de {@code bufferSize} eventos pendentes perde os mais antigos
+ * ({@link OverflowPolicy#DROP}) ou é desconectado ({@link OverflowPolicy#DISCONNECT}),
+ * sem atrasar o publicador nem os demais assinantes. Eventos pulados, por
+ * descarte ou por já terem saído do histórico, chegam ao assinante como um
+ * evento {@value #GAP_EVENT_NAME} com a faixa de sequências perdida.
+ * <p>
+ * Um {@code Last-Event-ID} que este histórico não consegue continuar (à frente da
+ * última sequência, como depois de um reinício sem o log de eventos, ou anterior
+ * ao evento mais antigo do buffer) recebe um {@value #RESET_EVENT_NAME} e passa a
+ * acompanhar a partir da última sequência: o cliente deve recarregar o estado.
+ */
+@Component
+@Slf4j
+public class CourseEventBroadcaster {
+
+    public static final String EVENT_NAME = "course-created";
+    /** Eventos que o assinante não receberá (descartados ou fora do histórico); {@code from} e {@code to} inclusivos. */
+    public static final String GAP_EVENT_NAME = "events-skipped";
+    /** O histórico não continua o {@code Last-Event-ID} pedido; o cliente deve recarregar o catálogo. */
+    public static final String RESET_EVENT_NAME = "events-reset";
+    private static final int SEND_BATCH = 64;
+
+    public enum OverflowPolicy { DROP, DISCONNECT }
+
+    private final CourseEventStore eventStore;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private Supplier<SseEmitter> emitterFactory;
+
+    @Autowired
+    public CourseEventBroadcaster(CourseEventStore eventStore,
+                                  @Value("${catalog.events.sse.buffer-size:256}") int bufferSize,
+                                  @Value("${catalog.events.sse.overflow:DROP}") OverflowPolicy overflowPolicy,
+                                  @Value("${catalog.events.sse.timeout:30m}") Duration timeout) {
+        this.eventStore = eventStore;
+        this.bufferSize = Math.min(bufferSize, eventStore.capacity());
+        this.overflowPolicy = overflowPolicy;
+        this.emitterFactory = () -> new SseEmitter(timeout.toMillis());
+    }
+
+    /**
+     * Registra um assinante. Com {@code lastEventId} os eventos retidos após essa
+     * sequência são reenviados antes dos novos; sem ele, só eventos futuros. Um
+     * {@code lastEventId} fora do histórico começa com {@value #RESET_EVENT_NAME}.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = emitterFactory.get();
+        long last = eventStore.lastSequence();
+        Subscription subscription;
+        if (lastEventId == null) {
+            subscription = new Subscription(emitter, last, null);
+        } else if (lastEventId > last || lastEventId < eventStore.oldestSequence() - 1) {
+            log.info("Last-Event-ID {} fora do histórico (última sequência {}); assinante recebe {}",
+                    lastEventId, last, RESET_EVENT_NAME);
+            subscription = new Subscription(emitter, last, lastEventId);
+        } else {
+            subscription = new Subscription(emitter, lastEventId, null);
+        }
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        subscription.schedule();
+        return emitter;
+    }
+
+    public void notifySubscribers() {
+        for (Subscription subscription : subscriptions) {
+            subscription.schedule();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    void setEmitterFactory(Supplier<SseEmitter> emitterFactory) {
+        this.emitterFactory = emitterFactory;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(s -> s.emitter.complete());
+        subscriptions.clear();
+        senders.shutdownNow();
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile Long resetFrom;
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long cursor, Long resetFrom) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.resetFrom = resetFrom;
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resetFrom != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(cursor))
+                            .name(RESET_EVENT_NAME)
+                            .data(Map.of("lastEventId", resetFrom, "lastSequence", cursor)));
+                    resetFrom = null;
+                }
+                while (!closed && eventStore.lastSequence() > cursor) {
+                    long pending = eventStore.lastSequence() - cursor;
+                    if (pending > bufferSize) {
+                        if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                            log.warn("Assinante SSE desconectado: {} eventos pendentes", pending);
+                            close();
+                            return;
+                        }
+                        skipTo(eventStore.lastSequence() - bufferSize);
+                    }
+                    List<StoredCourseEvent> batch = eventStore.read(cursor, SEND_BATCH);
+                    if (batch.isEmpty()) {
+                        long expired = eventStore.expiredThrough(cursor);
+                        if (expired == cursor) {
+                            // Próximo evento ainda em voo: o aviso do seu escritor retoma a drenagem
+                            break;
+                        }
+                        skipTo(expired);
+                        continue;
+                    }
+                    for (StoredCourseEvent event : batch) {
+                        if (event.getSequence() > cursor + 1) {
+                            skipTo(event.getSequence() - 1);
+                        }
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.getSequence()))
+                                .name(EVENT_NAME)
+                                .data(event));
+                        cursor = event.getSequence();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && hasReadable()) {
+                schedule();
+            }
+        }
+
+        /** Avança o cursor sobre eventos que não serão entregues e avisa o assinante da lacuna. */
+        private void skipTo(long sequence) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(sequence))
+                    .name(GAP_EVENT_NAME)
+                    .data(Map.of("from", cursor + 1, "to", sequence)));
+            cursor = sequence;
+        }
+
+        /** Há evento para ler ou lacuna para pular; um evento em voo não conta. */
+        private boolean hasReadable() {
+            return !eventStore.read(cursor, 1).isEmpty() || eventStore.expiredThrough(cursor) > cursor;
+        }
+
+        private void close() {
+            closed = true;
+            subscriptions.remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.catalog.courses.event;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica eventos de domínio somente após o commit da transação corrente.
+ * <p>
+ * Antes da entrega, ainda no commit e na thread que confirmou a transação, os
+ * eventos dela são registrados de uma vez pelo {@link CourseEventListener}
+ * (numeração e log em disco, com um único fsync por transação). Assim a fila
+ * assíncrona só adia a entrega aos listeners, nunca o registro de um evento
+ * confirmado.
+ * <p>
+ * No modo {@link Mode#ASYNC} os listeners rodam em threads virtuais de um
+ * executor com fila limitada, de modo que o custo para quem publica é um único
+ * enfileiramento, independente de quantos listeners existam ou de quão lentos
+ * sejam. Com a fila cheia o próprio chamador executa a entrega, aplicando
+ * contrapressão em vez de descartar eventos.
+ */
+@Component
+@Slf4j
+public class CourseEventDispatcher {
+
+    public enum Mode { SYNC, ASYNC }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CourseEventListener> recorder;
+    private final Mode mode;
+    private final ThreadPoolExecutor executor;
+    private final Timer dispatchLag;
+    private final Timer publishTime;
+
+    @Autowired
+    public CourseEventDispatcher(ApplicationEventPublisher eventPublisher,
+                                 ObjectProvider<CourseEventListener> recorder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${catalog.events.dispatch.mode:ASYNC}") Mode mode,
+                                 @Value("${catalog.events.dispatch.workers:1}") int workers,
+                                 @Value("${catalog.events.dispatch.queue-capacity:10000}") int queueCapacity) {
+        this.eventPublisher = eventPublisher;
+        this.recorder = recorder;
+        this.mode = mode;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("course-events-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.dispatchLag = Timer.builder("catalog.events.dispatch.lag")
+                .description("Tempo entre o commit e o início da entrega do evento")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishTime = Timer.builder("catalog.events.publish")
+                .description("Duração da entrega do evento a todos os listeners")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("catalog.events.dispatch.queue", executor, e -> e.getQueue().size())
+                .description("Eventos aguardando entrega")
+                .register(meterRegistry);
+    }
+
+    public void dispatch(ApplicationEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInTransaction().add(event);
+        } else {
+            recordAndDeliver(List.of(event));
+        }
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** Eventos da transação corrente, registrados e entregues juntos no commit. */
+    @SuppressWarnings("unchecked")
+    private List<ApplicationEvent> pendingInTransaction() {
+        List<ApplicationEvent> pending = (List<ApplicationEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<ApplicationEvent> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordAndDeliver(events);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CourseEventDispatcher.this);
+            }
+        });
+        return events;
+    }
+
+    private void recordAndDeliver(List<ApplicationEvent> events) {
+        recorder.ifAvailable(listener -> listener.record(events));
+        events.forEach(this::deliver);
+    }
+
+    private void deliver(ApplicationEvent event) {
+        if (mode == Mode.SYNC) {
+            publish(event);
+            return;
+        }
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> {
+            dispatchLag.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                publish(event);
+            } catch (RuntimeException e) {
+                log.error("Falha ao entregar evento {}", event.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private void publish(ApplicationEvent event) {
+        long start = System.nanoTime();
+        try {
+            eventPublisher.publishEvent(event);
+        } finally {
+            publishTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Eventos pendentes descartados no desligamento: {}", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,25 +1,135 @@
 package com.catalog.courses.event;
 
+import com.catalog.courses.event.log.CourseEventLog;
+import com.catalog.courses.model.Course;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Registra os eventos de criação no histórico em memória e, se habilitado, no
+ * {@link CourseEventLog} em disco, que então atende as leituras por sequência e
+ * repõe o histórico recente na subida.
+ * <p>
+ * O registro ({@link #record}) não espera pela entrega assíncrona: o
+ * {@link CourseEventDispatcher} o chama no commit, na thread que confirmou a
+ * transação, para que um evento confirmado já esteja numerado e no log quando o
+ * commit retorna, e não numa fila que se perde numa queda. Se a gravação no log
+ * falhar, os eventos ficam pendentes e são gravados de novo, em ordem, na próxima
+ * gravação (ou no desligamento); enquanto isso, {@link #getEvents(long, int)}
+ * completa o log com eles a partir da memória, sem buraco na sequência.
+ */
 @Component
 @Slf4j
 public class CourseEventListener {
 
-    private final List<CourseCreatedEvent> events = new ArrayList<>();
+    private final CourseEventStore eventStore;
+    private final CourseEventBroadcaster broadcaster;
+    private final CourseEventLog eventLog;
+    /** Eventos numerados cuja gravação no log falhou; protegido pelo lock de {@link #eventLog}. */
+    private final List<StoredCourseEvent> unlogged = new ArrayList<>();
+
+    @Autowired
+    public CourseEventListener(CourseEventStore eventStore, CourseEventBroadcaster broadcaster,
+                               ObjectProvider<CourseEventLog> eventLog) {
+        this.eventStore = eventStore;
+        this.broadcaster = broadcaster;
+        this.eventLog = eventLog.getIfAvailable();
+        if (this.eventLog != null) {
+            eventStore.restore(this.eventLog.lastSequence(), this.eventLog.tail(eventStore.capacity()));
+        }
+    }
+
+    /** Numera os eventos confirmados e os grava no log em disco, se habilitado. */
+    public void record(List<? extends ApplicationEvent> events) {
+        List<CourseCreatedEvent> created = new ArrayList<>(events.size());
+        for (ApplicationEvent event : events) {
+            if (event instanceof CourseCreatedEvent courseCreated) {
+                created.add(courseCreated);
+            } else if (event instanceof CoursesImportedEvent imported) {
+                for (Course course : imported.getCourses()) {
+                    created.add(new CourseCreatedEvent(imported.getSource(), course));
+                }
+            }
+        }
+        if (!created.isEmpty()) {
+            append(created);
+        }
+    }
 
     @EventListener
     public void handleCourseCreatedEvent(CourseCreatedEvent event) {
         log.info("Curso criado: {}", event.getCourse().getTitulo());
-        events.add(event);
+        broadcaster.notifySubscribers();
     }
 
-    public List<CourseCreatedEvent> getEvents() {
+    @EventListener
+    public void handleCoursesImportedEvent(CoursesImportedEvent event) {
+        log.info("Cursos importados: {}", event.getCourses().size());
+        broadcaster.notifySubscribers();
+    }
+
+    public List<StoredCourseEvent> getEvents() {
+        return eventStore.snapshot();
+    }
+
+    public List<StoredCourseEvent> getEvents(long after, int limit) {
+        if (eventLog == null) {
+            return eventStore.read(after, limit);
+        }
+        List<StoredCourseEvent> events = eventLog.read(after, limit);
+        long logged = eventLog.lastSequence();
+        if (events.size() < limit && eventStore.lastSequence() > logged) {
+            // Eventos à espera de nova gravação no log saem da memória
+            List<StoredCourseEvent> merged = new ArrayList<>(events);
+            merged.addAll(eventStore.read(Math.max(after, logged), limit - events.size()));
+            return merged;
+        }
         return events;
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        if (eventLog != null) {
+            synchronized (eventLog) {
+                if (!unlogged.isEmpty()) {
+                    writeUnlogged();
+                }
+            }
+        }
+    }
+
+    private void append(List<CourseCreatedEvent> events) {
+        if (eventLog == null) {
+            events.forEach(eventStore::append);
+            return;
+        }
+        // O log exige sequências em ordem: numeração e gravação no mesmo lock.
+        synchronized (eventLog) {
+            for (CourseCreatedEvent event : events) {
+                unlogged.add(eventStore.append(event));
+            }
+            writeUnlogged();
+        }
+    }
+
+    private void writeUnlogged() {
+        // Uma falha no meio do lote pode ter gravado o início dele
+        long logged = eventLog.lastSequence();
+        unlogged.removeIf(event -> event.getSequence() <= logged);
+        try {
+            eventLog.append(unlogged);
+            unlogged.clear();
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar {} eventos no log em disco; nova tentativa na próxima gravação",
+                    unlogged.size(), e);
+        }
+    }
+}
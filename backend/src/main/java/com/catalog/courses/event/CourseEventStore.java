@@ -0,0 +1,150 @@
+package com.catalog.courses.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histórico de eventos em buffer circular de capacidade fixa.
+ * <p>
+ * Escritores reservam uma sequência com um incremento atômico e publicam o
+ * evento no slot correspondente; leitores copiam os slots sem bloquear ninguém
+ * e param na primeira sequência reservada mas ainda não publicada, para que um
+ * cursor nunca salte eventos em voo.
+ */
+@Component
+public class CourseEventStore {
+
+    private final AtomicReferenceArray<StoredCourseEvent> slots;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private volatile long firstSequence = 1;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public CourseEventStore(@Value("${catalog.events.capacity:1024}") int capacity,
+                            @Value("${catalog.events.retention:0s}") Duration retention) {
+        this(capacity, retention, Clock.systemUTC());
+    }
+
+    CourseEventStore(int capacity, Duration retention, Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("catalog.events.capacity deve ser maior que zero");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    public StoredCourseEvent append(CourseCreatedEvent event) {
+        long sequence = lastSequence.incrementAndGet();
+        StoredCourseEvent stored = new StoredCourseEvent(sequence,
+                Instant.ofEpochMilli(event.getTimestamp()), event.getCourse());
+        int slot = slotOf(sequence);
+        StoredCourseEvent current;
+        do {
+            current = slots.get(slot);
+            if (current != null && current.getSequence() > sequence) {
+                // Um escritor uma volta à frente já ocupou o slot; este evento expirou.
+                return stored;
+            }
+        } while (!slots.compareAndSet(slot, current, stored));
+        return stored;
+    }
+
+    /** Até {@code limit} eventos com sequência maior que {@code after}, em ordem. */
+    public List<StoredCourseEvent> read(long after, int limit) {
+        long last = lastSequence.get();
+        long oldest = oldestSequence(last);
+        Instant cutoff = retention.isZero() ? Instant.MIN : clock.instant().minus(retention);
+        List<StoredCourseEvent> result = new ArrayList<>((int) Math.min(limit, Math.max(0, last - after)));
+        for (long sequence = Math.max(after + 1, oldest); sequence <= last && result.size() < limit; sequence++) {
+            StoredCourseEvent event = slots.get(slotOf(sequence));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            if (event.getSequence() == sequence && !event.getTimestamp().isBefore(cutoff)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Última sequência após {@code after} até a qual nenhum evento pode mais ser
+     * lido (sobrescrito no buffer ou além da retenção), ou o próprio {@code after}
+     * quando o próximo evento está disponível ou ainda em voo.
+     */
+    public long expiredThrough(long after) {
+        long last = lastSequence.get();
+        long oldest = oldestSequence(last);
+        Instant cutoff = retention.isZero() ? Instant.MIN : clock.instant().minus(retention);
+        long sequence = Math.max(after + 1, oldest);
+        for (; sequence <= last; sequence++) {
+            StoredCourseEvent event = slots.get(slotOf(sequence));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            if (event.getSequence() == sequence && !event.getTimestamp().isBefore(cutoff)) {
+                break;
+            }
+        }
+        return Math.max(after, sequence - 1);
+    }
+
+    /**
+     * Retoma a numeração após {@code lastSequence}, repondo os eventos mais
+     * recentes já gravados em outro lugar (em ordem crescente). Deve ser chamado
+     * antes de qualquer {@link #append}; só o trecho final sem lacunas é reposto.
+     */
+    public void restore(long lastSequence, List<StoredCourseEvent> events) {
+        long first = lastSequence + 1;
+        for (int i = events.size() - 1; i >= 0 && events.get(i).getSequence() == first - 1; i--) {
+            first--;
+        }
+        first = Math.max(first, lastSequence - slots.length() + 1);
+        for (StoredCourseEvent event : events) {
+            if (event.getSequence() >= first) {
+                slots.set(slotOf(event.getSequence()), event);
+            }
+        }
+        this.firstSequence = first;
+        this.lastSequence.set(lastSequence);
+    }
+
+    public List<StoredCourseEvent> snapshot() {
+        return read(0, slots.length());
+    }
+
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Menor sequência que ainda cabe no buffer (pode já ter passado da retenção);
+     * um cursor anterior a ela perdeu eventos que nenhum {@link #read} devolve.
+     */
+    public long oldestSequence() {
+        return oldestSequence(lastSequence.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private long oldestSequence(long last) {
+        return Math.max(firstSequence, last - slots.length() + 1);
+    }
+
+    private int slotOf(long sequence) {
+        return (int) ((sequence - 1) % slots.length());
+    }
+}
@@ -0,0 +1,17 @@
+package com.catalog.courses.event;
+
+import com.catalog.courses.model.Course;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class CoursesImportedEvent extends ApplicationEvent {
+    private final List<Course> courses;
+
+    public CoursesImportedEvent(Object source, List<Course> courses) {
+        super(source);
+        this.courses = courses;
+    }
+}
@@ -0,0 +1,21 @@
+package com.catalog.courses.event;
+
+import com.catalog.courses.model.Course;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Schema(description = "Evento de criação de curso retido no histórico")
+public class StoredCourseEvent {
+
+    @Schema(description = "Sequência do evento, crescente e sem repetição", example = "42")
+    long sequence;
+
+    @Schema(description = "Momento em que o evento foi publicado")
+    Instant timestamp;
+
+    @Schema(description = "Curso criado")
+    Course course;
+}
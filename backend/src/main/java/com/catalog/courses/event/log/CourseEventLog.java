@@ -0,0 +1,242 @@
+package com.catalog.courses.event.log;
+
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.metrics.CatalogMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Log de eventos durável, só de acréscimo, em segmentos mapeados em memória.
+ * <p>
+ * Cada segmento começa na sequência do seu primeiro evento (o nome do arquivo) e
+ * tem índice próprio, então ler a partir de uma sequência decodifica só os
+ * eventos devolvidos. Quando o segmento ativo enche, ele é gravado em disco e um
+ * novo é criado; segmentos cujo último evento é mais antigo que a retenção são
+ * apagados nesse momento.
+ * <p>
+ * A gravação em disco segue {@link FsyncPolicy}: {@code BATCH} força ao fim de
+ * cada {@link #append}, de modo que um lote importado custa um único fsync;
+ * {@code INTERVAL} força periodicamente em segundo plano; {@code NONE} deixa a
+ * cargo do sistema operacional, forçando apenas na troca de segmento e no
+ * desligamento.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.events.log.enabled", havingValue = "true")
+@Slf4j
+public class CourseEventLog {
+
+    public enum FsyncPolicy { BATCH, INTERVAL, NONE }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int indexInterval;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration retention;
+    private final Clock clock;
+    private final Timer fsyncTimer;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private final ByteBuffer encodeBuffer = ByteBuffer.allocate(EventRecords.MAX_SIZE);
+    private final ScheduledExecutorService flusher;
+    private volatile LogSegment active;
+
+    @Autowired
+    public CourseEventLog(@Value("${catalog.events.log.path:./data/events}") Path directory,
+                          @Value("${catalog.events.log.segment-size:64MB}") DataSize segmentSize,
+                          @Value("${catalog.events.log.index-interval:4KB}") DataSize indexInterval,
+                          @Value("${catalog.events.log.fsync:BATCH}") FsyncPolicy fsyncPolicy,
+                          @Value("${catalog.events.log.fsync-interval:1s}") Duration fsyncInterval,
+                          @Value("${catalog.events.log.retention:7d}") Duration retention,
+                          MeterRegistry meterRegistry) {
+        this(directory, Math.toIntExact(segmentSize.toBytes()), Math.toIntExact(indexInterval.toBytes()),
+                fsyncPolicy, fsyncInterval, retention, meterRegistry, Clock.systemUTC());
+    }
+
+    CourseEventLog(Path directory, int segmentSize, int indexInterval, FsyncPolicy fsyncPolicy,
+                   Duration fsyncInterval, Duration retention, MeterRegistry meterRegistry, Clock clock) {
+        if (segmentSize < EventRecords.MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    "catalog.events.log.segment-size deve ser de pelo menos " + EventRecords.MAX_SIZE + " bytes");
+        }
+        if (indexInterval < 1) {
+            throw new IllegalArgumentException("catalog.events.log.index-interval deve ser maior que zero");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.indexInterval = indexInterval;
+        this.fsyncPolicy = fsyncPolicy;
+        this.retention = retention;
+        this.clock = clock;
+        this.fsyncTimer = Timer.builder("catalog.events.log.fsync")
+                .description("Duração da gravação do log de eventos em disco")
+                .register(meterRegistry);
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de eventos em " + directory, e);
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long millis = fsyncInterval.toMillis();
+            this.flusher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("course-event-log-fsync").factory());
+            flusher.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> baseOffsets;
+        try (Stream<Path> files = Files.list(directory)) {
+            baseOffsets = files.map(f -> f.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+        for (long baseOffset : baseOffsets) {
+            segments.put(baseOffset, LogSegment.recover(directory, baseOffset, segmentSize, indexInterval));
+        }
+        if (segments.isEmpty()) {
+            segments.put(1L, LogSegment.create(directory, 1, segmentSize, indexInterval));
+        }
+        active = segments.lastEntry().getValue();
+        deleteExpiredSegments();
+        log.info("Log de eventos aberto em {}: {} segmentos, última sequência {}",
+                directory, segments.size(), lastSequence());
+    }
+
+    /**
+     * Acrescenta os eventos, em ordem crescente de sequência. Com
+     * {@link FsyncPolicy#BATCH}, retorna só depois de gravá-los em disco.
+     */
+    public synchronized void append(List<StoredCourseEvent> events) {
+        try {
+            for (StoredCourseEvent event : events) {
+                if (event.getSequence() <= active.lastSequence()) {
+                    throw new IllegalArgumentException("Sequência fora de ordem no log de eventos: "
+                            + event.getSequence() + " após " + active.lastSequence());
+                }
+                encodeBuffer.clear();
+                EventRecords.encode(event, encodeBuffer);
+                encodeBuffer.flip();
+                if (!active.append(event, encodeBuffer)) {
+                    roll(event.getSequence());
+                    active.append(event, encodeBuffer);
+                }
+            }
+            if (fsyncPolicy == FsyncPolicy.BATCH) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no log de eventos", e);
+        }
+    }
+
+    /** Até {@code limit} eventos com sequência maior que {@code after}, em ordem. */
+    public List<StoredCourseEvent> read(long after, int limit) {
+        List<StoredCourseEvent> result = new ArrayList<>(Math.min(limit, 256));
+        Long start = segments.floorKey(after + 1);
+        Map<Long, LogSegment> candidates = start != null ? segments.tailMap(start) : segments;
+        for (LogSegment segment : candidates.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (segment.lastSequence() > after) {
+                segment.read(after, limit - result.size(), result);
+            }
+        }
+        return result;
+    }
+
+    /** Os últimos eventos gravados, até {@code count}. */
+    public List<StoredCourseEvent> tail(int count) {
+        return read(Math.max(0, lastSequence() - count), count);
+    }
+
+    public long lastSequence() {
+        return active.lastSequence();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public synchronized void flush() {
+        if (active.isDirty()) {
+            long start = System.nanoTime();
+            active.flush();
+            CatalogMetrics.record(fsyncTimer, start);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar o log de eventos em disco", e);
+        }
+    }
+
+    private void roll(long baseOffset) throws IOException {
+        active.flush();
+        LogSegment next = LogSegment.create(directory, baseOffset, segmentSize, indexInterval);
+        segments.put(baseOffset, next);
+        active = next;
+        log.debug("Novo segmento do log de eventos a partir da sequência {}", baseOffset);
+        deleteExpiredSegments();
+    }
+
+    private void deleteExpiredSegments() throws IOException {
+        if (retention.isZero()) {
+            return;
+        }
+        long cutoff = clock.millis() - retention.toMillis();
+        for (LogSegment segment : segments.values()) {
+            if (segment == active || segment.lastTimestamp() >= cutoff) {
+                break;
+            }
+            segments.remove(segment.baseOffset());
+            segment.delete();
+            log.info("Segmento do log de eventos expirado: sequências {} a {}",
+                    segment.baseOffset(), segment.lastSequence());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        for (LogSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Falha ao fechar o segmento {} do log de eventos", segment.baseOffset(), e);
+            }
+        }
+    }
+}
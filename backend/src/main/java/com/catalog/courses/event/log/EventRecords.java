@@ -0,0 +1,121 @@
+package com.catalog.courses.event.log;
+
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.model.Course;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário de um evento no log:
+ * <pre>
+ * int   tamanho do corpo
+ * int   CRC32C do corpo
+ * corpo: long sequência | long timestamp (ms) | long id do curso | int carga horária
+ *        | título | categoria   (texto: short com o tamanho em UTF-8, -1 = nulo)
+ * </pre>
+ * A leitura usa só acessos absolutos ao buffer, para que vários leitores
+ * compartilhem o mesmo mapeamento sem copiar nem mover posições.
+ */
+final class EventRecords {
+
+    static final int HEADER = 8;
+    static final int SEQUENCE_OFFSET = HEADER;
+    /** Limite de bytes de cada texto; folgado para as colunas de 255 caracteres. */
+    static final int MAX_TEXT = 4096;
+    static final int MAX_SIZE = HEADER + 8 + 8 + 8 + 4 + 2 * (2 + MAX_TEXT);
+
+    private static final short NULL_TEXT = -1;
+    private static final long NULL_ID = -1;
+
+    private EventRecords() {
+    }
+
+    /** Escreve o registro a partir da posição atual de {@code out}, que deve ter {@link #MAX_SIZE} livres. */
+    static void encode(StoredCourseEvent event, ByteBuffer out) {
+        int start = out.position();
+        Course course = event.getCourse();
+        out.position(start + HEADER);
+        out.putLong(event.getSequence());
+        out.putLong(event.getTimestamp().toEpochMilli());
+        out.putLong(course.getId() != null ? course.getId() : NULL_ID);
+        out.putInt(course.getCargaHoraria());
+        putText(out, course.getTitulo());
+        putText(out, course.getCategoria());
+        int length = out.position() - start - HEADER;
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), out.arrayOffset() + start + HEADER, length);
+        out.putInt(start, length);
+        out.putInt(start + 4, (int) crc.getValue());
+    }
+
+    static StoredCourseEvent decode(ByteBuffer in, int position) {
+        int pos = position + HEADER;
+        long sequence = in.getLong(pos);
+        long timestamp = in.getLong(pos + 8);
+        long id = in.getLong(pos + 16);
+        int cargaHoraria = in.getInt(pos + 24);
+        pos += 28;
+        String titulo = getText(in, pos);
+        pos += textSize(in, pos);
+        String categoria = getText(in, pos);
+        return new StoredCourseEvent(sequence, Instant.ofEpochMilli(timestamp),
+                new Course(id == NULL_ID ? null : id, titulo, categoria, cargaHoraria));
+    }
+
+    static long sequence(ByteBuffer in, int position) {
+        return in.getLong(position + SEQUENCE_OFFSET);
+    }
+
+    static long timestamp(ByteBuffer in, int position) {
+        return in.getLong(position + SEQUENCE_OFFSET + 8);
+    }
+
+    /** Tamanho total do registro em {@code position}, ou -1 se não houver ali um registro íntegro. */
+    static int validSize(ByteBuffer in, int position, int limit) {
+        if (position + HEADER > limit) {
+            return -1;
+        }
+        int length = in.getInt(position);
+        if (length < 28 || length > MAX_SIZE - HEADER || position + HEADER + length > limit) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(position + HEADER, length));
+        return (int) crc.getValue() == in.getInt(position + 4) ? HEADER + length : -1;
+    }
+
+    static int size(ByteBuffer in, int position) {
+        return HEADER + in.getInt(position);
+    }
+
+    private static void putText(ByteBuffer out, String text) {
+        if (text == null) {
+            out.putShort(NULL_TEXT);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT) {
+            throw new IllegalArgumentException("Texto longo demais para o log de eventos: " + bytes.length + " bytes");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getText(ByteBuffer in, int position) {
+        short length = in.getShort(position);
+        if (length == NULL_TEXT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int textSize(ByteBuffer in, int position) {
+        short length = in.getShort(position);
+        return 2 + (length == NULL_TEXT ? 0 : length);
+    }
+}
@@ -0,0 +1,246 @@
+package com.catalog.courses.event.log;
+
+import com.catalog.courses.event.StoredCourseEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Um segmento do log: arquivo de registros e índice esparso, ambos mapeados em
+ * memória com tamanho fixo (o arquivo é estendido de uma vez e ocupa disco só
+ * onde já foi escrito).
+ * <p>
+ * O índice guarda, a cada {@code indexInterval} bytes de registros, o par
+ * (sequência relativa à base, posição). Para ler a partir de uma sequência basta
+ * uma busca binária no índice e uma varredura de no máximo um intervalo,
+ * pulando registros pelo cabeçalho, sem decodificá-los.
+ * <p>
+ * Só há um escritor por vez (o {@link CourseEventLog}, sob lock); leitores usam
+ * {@code size} e {@code indexEntries}, publicados por campos voláteis depois que
+ * os bytes correspondentes já foram escritos.
+ */
+final class LogSegment {
+
+    private static final int INDEX_ENTRY = 8;
+
+    private final long baseOffset;
+    private final Path logFile;
+    private final Path indexFile;
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer index;
+    private final int indexInterval;
+    private volatile int size;
+    private volatile int indexEntries;
+    private volatile long lastSequence;
+    private volatile long lastTimestamp;
+    private int bytesSinceIndex;
+    private int flushedSize;
+    private int flushedEntries;
+
+    private LogSegment(Path directory, long baseOffset, int capacity, int indexInterval) throws IOException {
+        this.baseOffset = baseOffset;
+        this.indexInterval = indexInterval;
+        this.logFile = directory.resolve(fileName(baseOffset, ".log"));
+        this.indexFile = directory.resolve(fileName(baseOffset, ".idx"));
+        this.logChannel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(indexFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long logSize = Math.max(logChannel.size(), capacity);
+        this.records = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, logSize);
+        this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(indexChannel.size(), (logSize / indexInterval + 1) * INDEX_ENTRY));
+        this.lastSequence = baseOffset - 1;
+    }
+
+    static LogSegment create(Path directory, long baseOffset, int capacity, int indexInterval) throws IOException {
+        return new LogSegment(directory, baseOffset, capacity, indexInterval);
+    }
+
+    /**
+     * Abre um segmento existente e encontra o fim dos registros íntegros a partir
+     * da última entrada do índice; um registro interrompido no meio da escrita é
+     * apagado, assim como entradas do índice que apontem para além dele.
+     */
+    static LogSegment recover(Path directory, long baseOffset, int capacity, int indexInterval) throws IOException {
+        LogSegment segment = new LogSegment(directory, baseOffset, capacity, indexInterval);
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int maxEntries = index.capacity() / INDEX_ENTRY;
+        int entries = 0;
+        int previous = 0;
+        while (entries < maxEntries) {
+            int position = index.getInt(entries * INDEX_ENTRY + 4);
+            if (position <= previous) {
+                break;
+            }
+            previous = position;
+            entries++;
+        }
+        int position = 0;
+        while (entries > 0) {
+            position = index.getInt((entries - 1) * INDEX_ENTRY + 4);
+            if (EventRecords.validSize(records, position, records.capacity()) > 0) {
+                break;
+            }
+            entries--;
+            position = 0;
+        }
+        long sequence = baseOffset - 1;
+        long timestamp = 0;
+        int recordSize;
+        while ((recordSize = EventRecords.validSize(records, position, records.capacity())) > 0
+                && EventRecords.sequence(records, position) > sequence) {
+            sequence = EventRecords.sequence(records, position);
+            timestamp = EventRecords.timestamp(records, position);
+            position += recordSize;
+            bytesSinceIndex += recordSize;
+        }
+        clearTornRecord(position);
+        for (int i = entries; i < maxEntries && index.getInt(i * INDEX_ENTRY + 4) != 0; i++) {
+            index.putLong(i * INDEX_ENTRY, 0);
+        }
+        this.indexEntries = entries;
+        this.flushedEntries = entries;
+        this.size = position;
+        this.flushedSize = position;
+        this.lastSequence = sequence;
+        this.lastTimestamp = timestamp;
+    }
+
+    private void clearTornRecord(int position) {
+        if (position + EventRecords.HEADER > records.capacity() || records.getInt(position) == 0) {
+            return;
+        }
+        long claimed = EventRecords.HEADER + (long) Math.max(0, records.getInt(position));
+        int end = (int) Math.min(records.capacity(), position + Math.min(claimed, EventRecords.MAX_SIZE));
+        for (int i = position; i < end; i++) {
+            records.put(i, (byte) 0);
+        }
+    }
+
+    /** Copia um registro já codificado para o fim do segmento; {@code false} se não couber. */
+    boolean append(StoredCourseEvent event, ByteBuffer encoded) {
+        int length = encoded.remaining();
+        int position = size;
+        if (position + length > records.capacity()) {
+            return false;
+        }
+        if (position > 0 && bytesSinceIndex >= indexInterval
+                && (indexEntries + 1) * INDEX_ENTRY <= index.capacity()) {
+            int entry = indexEntries * INDEX_ENTRY;
+            index.putInt(entry, (int) (event.getSequence() - baseOffset));
+            index.putInt(entry + 4, position);
+            indexEntries++;
+            bytesSinceIndex = 0;
+        }
+        records.put(position, encoded, encoded.position(), length);
+        bytesSinceIndex += length;
+        lastSequence = event.getSequence();
+        lastTimestamp = event.getTimestamp().toEpochMilli();
+        size = position + length;
+        return true;
+    }
+
+    /**
+     * Decodifica até {@code limit} eventos com sequência maior que {@code after},
+     * acrescentando-os a {@code out}; devolve quantos foram lidos.
+     */
+    int read(long after, int limit, List<StoredCourseEvent> out) {
+        int end = size;
+        int position = positionBefore(after + 1);
+        int read = 0;
+        while (position < end && read < limit) {
+            if (EventRecords.sequence(records, position) > after) {
+                out.add(EventRecords.decode(records, position));
+                read++;
+            }
+            position += EventRecords.size(records, position);
+        }
+        return read;
+    }
+
+    /** Posição do registro indexado mais próximo antes de {@code sequence}. */
+    private int positionBefore(long sequence) {
+        long relative = sequence - baseOffset;
+        int low = 0;
+        int high = indexEntries - 1;
+        int position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (index.getInt(mid * INDEX_ENTRY) <= relative) {
+                position = index.getInt(mid * INDEX_ENTRY + 4);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    /** Força para o disco o que foi escrito desde a última chamada. */
+    void flush() {
+        int end = size;
+        if (end > flushedSize) {
+            records.force(flushedSize, end - flushedSize);
+            flushedSize = end;
+        }
+        int entries = indexEntries;
+        if (entries > flushedEntries) {
+            index.force(flushedEntries * INDEX_ENTRY, (entries - flushedEntries) * INDEX_ENTRY);
+            flushedEntries = entries;
+        }
+    }
+
+    boolean isDirty() {
+        return size > flushedSize;
+    }
+
+    void close() throws IOException {
+        flush();
+        logChannel.close();
+        indexChannel.close();
+    }
+
+    /**
+     * Remove os arquivos. O mapeamento só é desfeito pelo coletor de lixo, então
+     * leitores que já o obtiveram terminam a leitura normalmente.
+     */
+    void delete() throws IOException {
+        logChannel.close();
+        indexChannel.close();
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(indexFile);
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    static String fileName(long baseOffset, String extension) {
+        return String.format("%020d%s", baseOffset, extension);
+    }
+}
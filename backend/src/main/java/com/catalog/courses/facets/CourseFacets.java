@@ -0,0 +1,183 @@
+package com.catalog.courses.facets;
+
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CoursesImportedEvent;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Quantidade de cursos e carga horária total por categoria, mantidas em memória.
+ * <p>
+ * Os totais são calculados com um único GROUP BY numa thread própria, para que
+ * a subida não espere por ele, e depois acompanham os eventos de criação
+ * (entregues após o commit). Até o primeiro cálculo terminar, {@link #getFacets}
+ * fica vazio. Eventos que chegam durante o cálculo ficam guardados; ao fim, os
+ * cursos que a mesma transação ({@code REPEATABLE READ}) já enxerga foram
+ * contados pelo GROUP BY e os demais são somados, sem contar nenhum duas vezes.
+ * Cada alteração publica uma nova lista imutável, de modo que a leitura é só
+ * devolver a referência atual.
+ */
+@Component
+@Slf4j
+public class CourseFacets implements SmartInitializingSingleton {
+
+    private static final Comparator<CategoryFacet> BY_CATEGORIA =
+            Comparator.comparing(CategoryFacet::getCategoria, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final int ID_BATCH = 1000;
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final Duration retryDelay;
+    private final Object rebuildLock = new Object();
+    private final Map<String, long[]> totals = new HashMap<>();
+    /** Eventos recebidos durante um cálculo; {@code null} quando aplicados direto. */
+    private List<Course> buffered = new ArrayList<>();
+    private volatile List<CategoryFacet> snapshot;
+    private volatile Thread builder;
+
+    @Autowired
+    public CourseFacets(CourseRepository courseRepository, PlatformTransactionManager transactionManager,
+                        @Value("${catalog.facets.retry-delay:5s}") Duration retryDelay) {
+        this.courseRepository = courseRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        builder = Thread.ofVirtual().name("course-facets").start(this::buildUntilReady);
+    }
+
+    private void buildUntilReady() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                rebuild();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao calcular as facetas de categoria; nova tentativa em {}", retryDelay, e);
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = builder;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /** Recalcula os totais a partir do banco, descartando os incrementos acumulados. */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                buffered = new ArrayList<>();
+            }
+            try {
+                snapshotTransaction.executeWithoutResult(status -> {
+                    List<CategoryFacet> aggregate = courseRepository.aggregateByCategoria();
+                    synchronized (this) {
+                        Set<Long> counted = visibleIds(buffered);
+                        totals.clear();
+                        for (CategoryFacet facet : aggregate) {
+                            totals.put(facet.getCategoria(), new long[]{facet.getCursos(), facet.getCargaHorariaTotal()});
+                        }
+                        for (Course course : buffered) {
+                            if (!counted.contains(course.getId())) {
+                                accumulate(course);
+                            }
+                        }
+                        buffered = null;
+                        publish();
+                        log.info("Facetas de categoria calculadas: {} categorias", totals.size());
+                    }
+                });
+            } finally {
+                synchronized (this) {
+                    if (buffered != null && snapshot != null) {
+                        // Falhou depois de pronto: os totais anteriores seguem valendo com os eventos guardados
+                        buffered.forEach(this::accumulate);
+                        buffered = null;
+                        publish();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Totais por categoria, ou vazio enquanto o primeiro cálculo não terminou. */
+    public Optional<List<CategoryFacet>> getFacets() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener
+    public void handleCourseCreatedEvent(CourseCreatedEvent event) {
+        add(List.of(event.getCourse()));
+    }
+
+    @EventListener
+    public void handleCoursesImportedEvent(CoursesImportedEvent event) {
+        add(event.getCourses());
+    }
+
+    private synchronized void add(List<Course> courses) {
+        if (buffered != null) {
+            buffered.addAll(courses);
+            return;
+        }
+        courses.forEach(this::accumulate);
+        publish();
+    }
+
+    /** Ids dos cursos guardados que o GROUP BY da transação atual já contou. */
+    private Set<Long> visibleIds(List<Course> courses) {
+        Set<Long> visible = new HashSet<>();
+        for (int from = 0; from < courses.size(); from += ID_BATCH) {
+            List<Long> ids = courses.subList(from, Math.min(courses.size(), from + ID_BATCH)).stream()
+                    .map(Course::getId)
+                    .toList();
+            visible.addAll(courseRepository.findIdsIn(ids));
+        }
+        return visible;
+    }
+
+    private void accumulate(Course course) {
+        long[] total = totals.computeIfAbsent(course.getCategoria(), c -> new long[2]);
+        total[0]++;
+        total[1] += course.getCargaHoraria();
+    }
+
+    private void publish() {
+        List<CategoryFacet> facets = new ArrayList<>(totals.size());
+        totals.forEach((categoria, total) -> facets.add(new CategoryFacet(categoria, total[0], total[1])));
+        facets.sort(BY_CATEGORIA);
+        snapshot = List.copyOf(facets);
+    }
+}
@@ -0,0 +1,159 @@
+package com.catalog.courses.idempotency;
+
+import com.catalog.courses.model.Course;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Respostas de {@code POST /courses} guardadas por {@code Idempotency-Key},
+ * limitadas em quantidade ({@code catalog.idempotency.max-keys}) e expiradas
+ * após {@code catalog.idempotency.ttl}.
+ * <p>
+ * A primeira requisição com uma chave reserva a entrada antes de criar o curso;
+ * as repetições, inclusive as que chegam enquanto a primeira ainda está em
+ * andamento, esperam por ela e recebem o mesmo curso, sem tocar no banco nem
+ * publicar outro evento. Se a criação falhar, a entrada é descartada: quem
+ * esperava recebe o mesmo erro, e a próxima tentativa executa de novo. Reusar a
+ * chave com outro corpo é recusado com 422.
+ * <p>
+ * Entradas em andamento não contam para o limite nem expiram: peso 0 e validade
+ * sem fim até o resultado sair, quando a entrada é regravada e passa a valer 1 e
+ * a expirar em {@code ttl}. Assim uma repetição nunca encontra a chave vaga
+ * enquanto a primeira execução ainda roda. Repetições esperam por ela no máximo
+ * {@code catalog.idempotency.replay-timeout} e então recebem 409.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final Duration replayTimeout;
+    private final Counter replayed;
+    private final Counter mismatched;
+
+    @Autowired
+    public IdempotencyStore(@Value("${catalog.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${catalog.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${catalog.idempotency.replay-timeout:30s}") Duration replayTimeout,
+                            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxKeys)
+                .weigher((String key, Entry entry) -> entry.result.isDone() ? 1 : 0)
+                .expireAfter(new PinnedWhilePending(ttl))
+                .recordStats()
+                .build();
+        this.replayTimeout = replayTimeout;
+        this.replayed = Counter.builder("catalog.idempotency.replayed")
+                .description("Criações repetidas respondidas com o resultado guardado")
+                .register(meterRegistry);
+        this.mismatched = Counter.builder("catalog.idempotency.mismatched")
+                .description("Chaves reusadas com outro corpo (422)")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "courses.idempotency");
+    }
+
+    /** Resultado da criação; {@code replayed} quando veio de uma execução anterior. */
+    public record Outcome(Course course, boolean replayed) {
+    }
+
+    /**
+     * Executa {@code create} uma única vez por {@code key}. O {@code request} é
+     * comparado com o da primeira execução para detectar reuso da chave.
+     */
+    public Outcome execute(String key, Course request, Supplier<Course> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " deve ter de 1 a " + MAX_KEY_LENGTH + " caracteres");
+        }
+        Entry mine = new Entry(copyOf(request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            return replay(existing, request);
+        }
+        try {
+            Course created = create.get();
+            mine.result.complete(created);
+            // Regravada já concluída: passa a pesar e a expirar
+            entries.asMap().replace(key, mine, mine);
+            return new Outcome(created, false);
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Outcome replay(Entry existing, Course request) {
+        if (!existing.request.equals(request)) {
+            mismatched.increment();
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " já usada com outro corpo");
+        }
+        try {
+            // Espera numa cópia: o timeout de uma repetição não pode encerrar a execução original
+            Course course = existing.result.copy()
+                    .orTimeout(replayTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+            replayed.increment();
+            return new Outcome(course, true);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Requisição com esta " + HEADER + " ainda em andamento; tente novamente");
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /** Cópia do corpo recebido, já que a criação preenche o ID do próprio objeto. */
+    private static Course copyOf(Course course) {
+        return new Course(course.getId(), course.getTitulo(), course.getCategoria(), course.getCargaHoraria());
+    }
+
+    private record Entry(Course request, CompletableFuture<Course> result) {
+    }
+
+    /** {@code ttl} a partir de quando o resultado sai; sem expiração antes disso. */
+    private record PinnedWhilePending(Duration ttl) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.result.isDone() ? ttl.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.result.isDone() ? ttl.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.catalog.courses.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nomes e construção dos medidores do catálogo.
+ * <p>
+ * Os medidores são registrados uma única vez, na construção de quem os usa, e
+ * guardados em campos; no caminho quente resta apenas {@code System.nanoTime()}
+ * e {@link #record}, sem montar tags nem alocar objetos por chamada.
+ */
+public final class CatalogMetrics {
+
+    public static final String CONTROLLER = "catalog.controller";
+    public static final String SERVICE = "catalog.service";
+    public static final String REPOSITORY = "catalog.repository";
+    public static final String SEARCH_RESULTS = "catalog.search.results";
+
+    private CatalogMetrics() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public static DistributionSummary searchResults(MeterRegistry registry) {
+        return DistributionSummary.builder(SEARCH_RESULTS)
+                .description("Quantidade de cursos devolvidos por busca")
+                .baseUnit("cursos")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package com.catalog.courses.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede cada método de um repositório Spring Data. O {@link Timer} de cada método
+ * é criado na primeira chamada e reaproveitado depois. Para métodos que devolvem
+ * {@code Stream}, o tempo medido é o de abertura do cursor, não o de consumo.
+ */
+class RepositoryTimingInterceptor implements MethodInterceptor {
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    RepositoryTimingInterceptor(MeterRegistry registry, String repository) {
+        this.registry = registry;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, this::register);
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            CatalogMetrics.record(timer, start);
+        }
+    }
+
+    private Timer register(Method method) {
+        return Timer.builder(CatalogMetrics.REPOSITORY)
+                .tag("repository", repository)
+                .tag("operation", method.getName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,10 +1,16 @@
 package com.catalog.courses.model;
 
+import com.catalog.courses.persistence.routing.CourseReplicationListener;
+import com.catalog.courses.search.CourseSearchIndexListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -12,6 +18,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners({CourseSearchIndexListener.class, CourseReplicationListener.class})
+@Table(indexes = {
+        @Index(name = "idx_course_categoria_carga", columnList = "categoria, carga_horaria"),
+        @Index(name = "idx_course_carga", columnList = "carga_horaria")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +30,8 @@ import lombok.NoArgsConstructor;
 public class Course {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     @Schema(description = "ID único do curso", example = "1")
     private Long id;
     
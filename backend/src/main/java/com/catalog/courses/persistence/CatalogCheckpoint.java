@@ -0,0 +1,68 @@
+package com.catalog.courses.persistence;
+
+import com.catalog.courses.metrics.CatalogMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava periodicamente o banco H2 em arquivo ({@code CHECKPOINT SYNC}) no perfil
+ * "persistent". Entre checkpoints o H2 já escreve as alterações confirmadas; o
+ * checkpoint força a gravação e o fsync, limitando o que uma queda do processo
+ * pode levar. No desligamento, o H2 grava tudo ao fechar a última conexão.
+ */
+@Component
+@ConditionalOnProperty("catalog.persistence.checkpoint-interval")
+@Slf4j
+public class CatalogCheckpoint {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer checkpointTimer;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("catalog-checkpoint").factory());
+
+    @Autowired
+    public CatalogCheckpoint(JdbcTemplate jdbcTemplate,
+                             @Value("${catalog.persistence.checkpoint-interval}") Duration interval,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkpointTimer = Timer.builder("catalog.persistence.checkpoint")
+                .description("Duração do CHECKPOINT SYNC do H2")
+                .register(meterRegistry);
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkpoint() {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.execute("CHECKPOINT SYNC");
+        } finally {
+            CatalogMetrics.record(checkpointTimer, start);
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.warn("Falha no checkpoint do banco", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package com.catalog.courses.persistence.routing;
+
+import com.catalog.courses.model.Course;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entrega à {@link LocalReplication} os cursos gravados por cada transação;
+ * sem réplicas configuradas não faz nada.
+ */
+public class CourseReplicationListener {
+
+    private final ObjectProvider<LocalReplication> replication;
+
+    public CourseReplicationListener(ObjectProvider<LocalReplication> replication) {
+        this.replication = replication;
+    }
+
+    @PostPersist
+    public void onCreate(Course course) {
+        replication.ifAvailable(local -> local.recordSaved(course));
+    }
+
+    @PostUpdate
+    public void onUpdate(Course course) {
+        replication.ifAvailable(local -> local.recordSaved(course));
+    }
+
+    @PostRemove
+    public void onRemove(Course course) {
+        replication.ifAvailable(local -> local.recordRemoved(course));
+    }
+}
@@ -0,0 +1,114 @@
+package com.catalog.courses.persistence.routing;
+
+import com.catalog.courses.cache.CatalogVersion;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Perfil "replicas": o primário continua descrito por {@code spring.datasource.*}
+ * (inclusive {@code spring.datasource.hikari.*}) e cada URL de
+ * {@code catalog.datasource.replicas.urls} ganha um pool próprio. Os pools se
+ * chamam {@code primary} e {@code replica-N}, nomes que viram a tag {@code pool}
+ * das métricas {@code hikaricp.*} e de {@code catalog.datasource.route}.
+ * <p>
+ * A posição de cada réplica vem, por padrão, de {@link ReplicaPositionProbe},
+ * com as consultas de {@code catalog.datasource.replicas.probe.*}. Com
+ * {@code catalog.datasource.replicas.local.enabled}, a própria aplicação copia
+ * e alimenta réplicas H2 em memória ({@link LocalReplication}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("catalog.datasource.replicas.urls")
+public class DataSourceRoutingConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "catalog.datasource.replicas.local.enabled", havingValue = "true")
+    public LocalReplication localReplication(CatalogVersion catalogVersion,
+                                             @Value("${catalog.datasource.replicas.urls}") List<String> urls,
+                                             @Value("${catalog.datasource.replicas.lag:0ms}") Duration lag,
+                                             MeterRegistry meterRegistry) {
+        LocalReplication.requireInMemory(urls);
+        return new LocalReplication(catalogVersion, replicaNames(urls), lag, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "catalog.datasource.replicas.local.enabled", havingValue = "false",
+            matchIfMissing = true)
+    public ReplicaPositionProbe replicaPositionProbe(CatalogVersion catalogVersion,
+                                                     @Value("${catalog.datasource.replicas.urls}") List<String> urls,
+                                                     @Value("${catalog.datasource.replicas.probe.primary-query:}") String primaryQuery,
+                                                     @Value("${catalog.datasource.replicas.probe.replica-query:}") String replicaQuery,
+                                                     @Value("${catalog.datasource.replicas.probe.interval:100ms}") Duration interval,
+                                                     MeterRegistry meterRegistry) {
+        if (primaryQuery.isBlank() || replicaQuery.isBlank()) {
+            throw new IllegalStateException("Réplicas sem posição conhecida: configure "
+                    + "catalog.datasource.replicas.probe.primary-query e probe.replica-query, "
+                    + "ou catalog.datasource.replicas.local.enabled=true para réplicas H2 em memória");
+        }
+        return new ReplicaPositionProbe(catalogVersion, replicaNames(urls), primaryQuery, replicaQuery, interval,
+                meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties, Environment environment,
+                                                      @Value("${catalog.datasource.replicas.urls}") List<String> urls,
+                                                      @Value("${catalog.datasource.replicas.pool-size:10}") int replicaPoolSize,
+                                                      ReplicationPosition replicationPosition,
+                                                      MeterRegistry meterRegistry) {
+        HikariConfig primary = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setJdbcUrl(properties.determineUrl());
+        primary.setUsername(properties.determineUsername());
+        primary.setPassword(properties.determinePassword());
+        primary.setDriverClassName(properties.determineDriverClassName());
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig replica = new HikariConfig();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replicas.add(new HikariDataSource(replica));
+        }
+        return new ReplicaRoutingDataSource(new HikariDataSource(primary), replicas, replicationPosition, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /** Passa a acompanhar as réplicas (ou a copiá-las do primário) depois do esquema e do data.sql. */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> replicaBootstrap(ReplicaRoutingDataSource routingDataSource,
+                                                                      ReplicationPosition replicationPosition) {
+        return event -> replicationPosition.start(routingDataSource.getPrimary(), routingDataSource.getReplicas());
+    }
+
+    private static List<String> replicaNames(List<String> urls) {
+        return IntStream.range(0, urls.size()).mapToObj(i -> "replica-" + i).toList();
+    }
+}
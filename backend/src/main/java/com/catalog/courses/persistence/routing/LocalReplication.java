@@ -0,0 +1,278 @@
+package com.catalog.courses.persistence.routing;
+
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Replicação feita pela própria aplicação, no lugar da replicação nativa do banco,
+ * para que o roteamento possa ser exercitado com instâncias H2 locais.
+ * <p>
+ * Na subida cada réplica é recriada a partir de um {@code SCRIPT} do primário.
+ * Depois disso, as linhas gravadas por uma transação seguem para as réplicas
+ * marcadas com a versão do catálogo que o commit gerou ({@link CatalogVersion}):
+ * a fila é preenchida dentro do incremento, então as alterações chegam às
+ * réplicas na mesma ordem das versões. A posição de cada réplica é a última
+ * versão aplicada; {@code -1} enquanto ela não foi copiada.
+ * <p>
+ * Transações que gravam cursos sem incrementar a versão (remoções direto pelo
+ * repositório, por exemplo) incrementam-na ao terminar, para que a réplica
+ * sempre tenha uma posição a alcançar.
+ * <p>
+ * Como a cópia apaga tudo na réplica, só é ligada com
+ * {@code catalog.datasource.replicas.local.enabled} e só aceita réplicas
+ * {@code jdbc:h2:mem:}; réplicas de verdade usam {@link ReplicaPositionProbe}.
+ */
+@Slf4j
+public class LocalReplication implements ReplicationPosition {
+
+    static final String IN_MEMORY_H2 = "jdbc:h2:mem:";
+
+    private static final String UPSERT =
+            "MERGE INTO course (id, titulo, categoria, carga_horaria) KEY (id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM course WHERE id = ?";
+    private static final int MAX_BATCH = 1000;
+
+    private final CatalogVersion catalogVersion;
+    private final List<String> replicaNames;
+    private final long lagNanos;
+    private final AtomicLongArray applied;
+    private final BlockingQueue<Change> pending = new LinkedBlockingQueue<>();
+    private final ThreadLocal<TransactionRows> completing = new ThreadLocal<>();
+    private volatile Thread shipper;
+
+    public LocalReplication(CatalogVersion catalogVersion, List<String> replicaNames, Duration lag,
+                            MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.replicaNames = List.copyOf(replicaNames);
+        this.lagNanos = lag.toNanos();
+        this.applied = new AtomicLongArray(replicaNames.size());
+        for (int i = 0; i < replicaNames.size(); i++) {
+            applied.set(i, -1);
+            int replica = i;
+            Gauge.builder("catalog.datasource.replication.lag", () -> versionsBehind(replica))
+                    .description("Versões do catálogo ainda não aplicadas na réplica")
+                    .tag("pool", replicaNames.get(i))
+                    .register(meterRegistry);
+        }
+        catalogVersion.onBump(this::enqueue);
+    }
+
+    /**
+     * Recusa URLs de réplica fora do H2 em memória: {@link #start} roda
+     * {@code DROP ALL OBJECTS} em cada uma.
+     */
+    static void requireInMemory(List<String> urls) {
+        for (String url : urls) {
+            if (!url.trim().startsWith(IN_MEMORY_H2)) {
+                throw new IllegalStateException("catalog.datasource.replicas.local.enabled só aceita réplicas "
+                        + IN_MEMORY_H2 + ", pois recria cada uma a partir do primário: " + url.trim());
+            }
+        }
+    }
+
+    @Override
+    public boolean isCaughtUp(int replica) {
+        long position = applied.get(replica);
+        return position >= 0 && position >= catalogVersion.current().getVersion();
+    }
+
+    public long appliedVersion(int replica) {
+        return applied.get(replica);
+    }
+
+    /** Guarda a linha inserida ou alterada para enviá-la às réplicas após o commit. */
+    public void recordSaved(Course course) {
+        rowsOfCurrentTransaction().saved.add(course);
+    }
+
+    /** Guarda o id removido para enviá-lo às réplicas após o commit. */
+    public void recordRemoved(Course course) {
+        rowsOfCurrentTransaction().removed.add(course.getId());
+    }
+
+    /**
+     * Copia o primário para cada réplica e passa a aplicar as alterações
+     * enfileiradas. A versão é lida antes da cópia: alterações que também entraram
+     * no {@code SCRIPT} são reaplicadas sem efeito ({@code MERGE}/{@code DELETE}).
+     */
+    @Override
+    public void start(DataSource primary, List<? extends DataSource> replicas) {
+        long version = catalogVersion.current().getVersion();
+        Path script = null;
+        try {
+            script = Files.createTempFile("catalog-replica-", ".sql");
+            long start = System.nanoTime();
+            new JdbcTemplate(primary).execute("SCRIPT TO '" + script + "'");
+            for (int i = 0; i < replicas.size(); i++) {
+                JdbcTemplate replica = new JdbcTemplate(replicas.get(i));
+                replica.execute("DROP ALL OBJECTS");
+                replica.execute("RUNSCRIPT FROM '" + script + "'");
+                applied.set(i, version);
+            }
+            log.info("{} réplica(s) copiada(s) do primário na versão {} em {} ms",
+                    replicas.size(), version, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(script);
+        }
+        List<JdbcTemplate> targets = replicas.stream().map(JdbcTemplate::new).toList();
+        shipper = Thread.ofVirtual().name("catalog-replication").start(() -> ship(targets));
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        Thread thread = shipper;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /** Chamado por {@link CatalogVersion} dentro do incremento, na thread do commit. */
+    private void enqueue(long version) {
+        TransactionRows rows = completing.get();
+        if (rows == null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            rows = find(TransactionSynchronizationManager.getSynchronizations());
+        }
+        if (rows == null || rows.shipped) {
+            pending.add(new Change(version, System.nanoTime(), List.of(), List.of()));
+            return;
+        }
+        rows.shipped = true;
+        pending.add(new Change(version, System.nanoTime(), rows(rows.saved), rows.removed));
+    }
+
+    private TransactionRows rowsOfCurrentTransaction() {
+        TransactionRows rows = find(TransactionSynchronizationManager.getSynchronizations());
+        if (rows == null) {
+            rows = new TransactionRows();
+            TransactionSynchronizationManager.registerSynchronization(rows);
+        }
+        return rows;
+    }
+
+    private static TransactionRows find(List<TransactionSynchronization> synchronizations) {
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (synchronization instanceof TransactionRows rows) {
+                return rows;
+            }
+        }
+        return null;
+    }
+
+    private static List<Object[]> rows(List<Course> courses) {
+        List<Object[]> rows = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            rows.add(new Object[]{course.getId(), course.getTitulo(), course.getCategoria(), course.getCargaHoraria()});
+        }
+        return rows;
+    }
+
+    private void ship(List<JdbcTemplate> targets) {
+        List<Change> batch = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(pending.take());
+                pending.drainTo(batch, MAX_BATCH - 1);
+                long wait = batch.get(batch.size() - 1).committedAt + lagNanos - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                applyWithRetry(targets, batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyWithRetry(List<JdbcTemplate> targets, List<Change> batch) throws InterruptedException {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Change change : batch) {
+            upserts.addAll(change.upserts);
+            for (Long id : change.removed) {
+                deletes.add(new Object[]{id});
+            }
+        }
+        long version = batch.get(batch.size() - 1).version;
+        for (int i = 0; i < targets.size(); i++) {
+            while (applied.get(i) < version) {
+                try {
+                    // Inserções antes das remoções: um id removido no lote não volta
+                    targets.get(i).batchUpdate(UPSERT, upserts);
+                    targets.get(i).batchUpdate(DELETE, deletes);
+                    applied.set(i, version);
+                } catch (DataAccessException e) {
+                    log.warn("Falha ao aplicar a versão {} na réplica {}; nova tentativa em 1 s",
+                            version, replicaNames.get(i), e);
+                    TimeUnit.SECONDS.sleep(1);
+                }
+            }
+        }
+    }
+
+    private double versionsBehind(int replica) {
+        long position = applied.get(replica);
+        return position < 0 ? Double.NaN : Math.max(0, catalogVersion.current().getVersion() - position);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Linhas alteradas pela transação corrente. Se nenhuma escrita da transação
+     * incrementou a versão do catálogo até o commit, incrementa aqui para que
+     * elas sejam enviadas; nesse ponto o Spring já desligou as sincronizações da
+     * thread, por isso as linhas são entregues por {@link #completing}.
+     */
+    private final class TransactionRows implements TransactionSynchronization {
+
+        private final List<Course> saved = new ArrayList<>();
+        private final List<Long> removed = new ArrayList<>();
+        private boolean shipped;
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED && !shipped) {
+                completing.set(this);
+                try {
+                    catalogVersion.bump();
+                } finally {
+                    completing.remove();
+                }
+            }
+        }
+    }
+
+    private record Change(long version, long committedAt, List<Object[]> upserts, List<Long> removed) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.catalog.courses.persistence.routing;
+
+import com.catalog.courses.cache.CatalogVersion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Posição de réplicas que o próprio banco alimenta (replicação nativa), lida das
+ * réplicas em vez de contada pela aplicação.
+ * <p>
+ * A cada {@code interval}, lê a versão atual do catálogo, depois a posição do
+ * primário ({@code primaryQuery}, por exemplo o LSN corrente do WAL) e a de cada
+ * réplica ({@code replicaQuery}, o LSN já aplicado), ambas como números que só
+ * crescem. Toda escrita confirmada até aquela versão já está na posição lida do
+ * primário, então a réplica que a alcançou tem a versão aplicada. Uma réplica que
+ * não responde volta a {@code -1} e deixa de receber leituras até a próxima
+ * sondagem bem-sucedida.
+ */
+@Slf4j
+public class ReplicaPositionProbe implements ReplicationPosition {
+
+    private final CatalogVersion catalogVersion;
+    private final List<String> replicaNames;
+    private final String primaryQuery;
+    private final String replicaQuery;
+    private final long intervalNanos;
+    private final AtomicLongArray applied;
+    private volatile Thread prober;
+
+    public ReplicaPositionProbe(CatalogVersion catalogVersion, List<String> replicaNames, String primaryQuery,
+                                String replicaQuery, Duration interval, MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.replicaNames = List.copyOf(replicaNames);
+        this.primaryQuery = primaryQuery;
+        this.replicaQuery = replicaQuery;
+        this.intervalNanos = interval.toNanos();
+        this.applied = new AtomicLongArray(replicaNames.size());
+        for (int i = 0; i < replicaNames.size(); i++) {
+            applied.set(i, -1);
+            int replica = i;
+            Gauge.builder("catalog.datasource.replication.lag", () -> versionsBehind(replica))
+                    .description("Versões do catálogo ainda não aplicadas na réplica")
+                    .tag("pool", replicaNames.get(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean isCaughtUp(int replica) {
+        long position = applied.get(replica);
+        return position >= 0 && position >= catalogVersion.current().getVersion();
+    }
+
+    public long appliedVersion(int replica) {
+        return applied.get(replica);
+    }
+
+    @Override
+    public void start(DataSource primary, List<? extends DataSource> replicas) {
+        JdbcTemplate source = new JdbcTemplate(primary);
+        List<JdbcTemplate> targets = replicas.stream().map(JdbcTemplate::new).toList();
+        probe(source, targets);
+        prober = Thread.ofVirtual().name("catalog-replica-probe").start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    TimeUnit.NANOSECONDS.sleep(intervalNanos);
+                    probe(source, targets);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        Thread thread = prober;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /** Uma sondagem: a versão é lida antes da posição do primário, nunca depois. */
+    void probe(JdbcTemplate primary, List<JdbcTemplate> replicas) {
+        long version = catalogVersion.current().getVersion();
+        Long primaryPosition;
+        try {
+            primaryPosition = primary.queryForObject(primaryQuery, Long.class);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao ler a posição do primário; réplicas mantêm a última versão conhecida", e);
+            return;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            try {
+                Long position = replicas.get(i).queryForObject(replicaQuery, Long.class);
+                if (primaryPosition != null && position != null && position >= primaryPosition) {
+                    applied.accumulateAndGet(i, version, Math::max);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Falha ao ler a posição da réplica {}; leituras vão ao primário", replicaNames.get(i), e);
+                applied.set(i, -1);
+            }
+        }
+    }
+
+    private double versionsBehind(int replica) {
+        long position = applied.get(replica);
+        return position < 0 ? Double.NaN : Math.max(0, catalogVersion.current().getVersion() - position);
+    }
+}
@@ -0,0 +1,100 @@
+package com.catalog.courses.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escolhe o pool de cada conexão: transações somente leitura vão a uma réplica
+ * (rodízio), todo o resto ao primário.
+ * <p>
+ * Uma réplica só é escolhida se já aplicou a versão atual do catálogo; do
+ * contrário a leitura vai ao primário. Assim um cliente sempre lê o que acabou
+ * de criar, e o ETag capturado antes da consulta nunca descreve dados mais novos
+ * do que os devolvidos. O preço é que réplicas atrasadas não aliviam o primário
+ * até alcançá-lo.
+ * <p>
+ * Depende de {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * à frente: o gerenciador de transações pede a conexão antes de marcar a
+ * transação como somente leitura, e o proxy adia a escolha até o primeiro comando.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicationPosition replication;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryWrites;
+    private final Counter primaryReads;
+    private final Counter[] replicaReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReplicationPosition replication, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replication = replication;
+        this.primaryWrites = routeCounter(meterRegistry, primary, "read-write");
+        this.primaryReads = routeCounter(meterRegistry, primary, "read-only");
+        this.replicaReads = new Counter[replicas.size()];
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(primary.getPoolName(), primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariDataSource replica = replicas.get(i);
+            targets.put(replica.getPoolName(), replica);
+            replicaReads[i] = routeCounter(meterRegistry, replica, "read-only");
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            return primary.getPoolName();
+        }
+        int first = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (first + i) % replicas.size();
+            if (replication.isCaughtUp(replica)) {
+                replicaReads[replica].increment();
+                return replicas.get(replica).getPoolName();
+            }
+        }
+        primaryReads.increment();
+        return primary.getPoolName();
+    }
+
+    @Override
+    public void close() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, HikariDataSource pool, String transaction) {
+        return Counter.builder("catalog.datasource.route")
+                .description("Conexões entregues por pool e tipo de transação")
+                .tag("pool", pool.getPoolName())
+                .tag("transaction", transaction)
+                .register(registry);
+    }
+}
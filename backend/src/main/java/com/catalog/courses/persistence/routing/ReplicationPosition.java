@@ -0,0 +1,20 @@
+package com.catalog.courses.persistence.routing;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Até onde cada réplica aplicou as escritas do primário, em versões do catálogo;
+ * é o que {@link ReplicaRoutingDataSource} consulta antes de mandar uma leitura
+ * a ela. Começa a acompanhar as réplicas em {@link #start}, chamado depois que o
+ * esquema e o data.sql estão no primário.
+ */
+public interface ReplicationPosition {
+
+    /** A réplica já aplicou todas as escritas confirmadas até a versão atual do catálogo. */
+    boolean isCaughtUp(int replica);
+
+    void start(DataSource primary, List<? extends DataSource> replicas);
+
+    void stop() throws InterruptedException;
+}
@@ -0,0 +1,17 @@
+package com.catalog.courses.repository;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas dinâmicas ({@link CourseSpecifications}) que devolvem {@link CourseDTO}
+ * em vez de entidades.
+ */
+public interface CourseProjectionRepository {
+
+    /** Até {@code limit} cursos que atendem {@code spec}, em ordem de ID. */
+    List<CourseDTO> findProjected(Specification<Course> spec, int limit);
+}
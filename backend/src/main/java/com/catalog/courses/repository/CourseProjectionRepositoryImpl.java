@@ -0,0 +1,45 @@
+package com.catalog.courses.repository;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class CourseProjectionRepositoryImpl implements CourseProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    CourseProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseDTO> findProjected(Specification<Course> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CourseDTO> query = cb.createQuery(CourseDTO.class);
+        Root<Course> root = query.from(Course.class);
+        query.select(cb.construct(CourseDTO.class,
+                root.get("id"), root.get("titulo"), root.get("categoria"), root.get("cargaHoraria")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        TypedQuery<CourseDTO> typed = entityManager.createQuery(query);
+        if (limit < Integer.MAX_VALUE) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
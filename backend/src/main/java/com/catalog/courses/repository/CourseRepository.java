@@ -1,16 +1,68 @@
 package com.catalog.courses.repository;
 
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.dto.CourseDTO;
 import com.catalog.courses.model.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Escritas usam a entidade {@link Course}; as leituras devolvem {@link CourseDTO}
+ * montado pela própria consulta, em transação somente leitura, sem entidades no
+ * contexto de persistência nem snapshots para dirty checking.
+ */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-    
-    @Query("SELECT c FROM Course c WHERE UPPER(c.titulo) LIKE UPPER(CONCAT('%', :query, '%'))")
-    List<Course> findByTituloContaining(@Param("query") String query);
-}
\ No newline at end of file
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course>,
+        CourseProjectionRepository {
+
+    String PROJECTION = "SELECT new com.catalog.courses.dto.CourseDTO(c.id, c.titulo, c.categoria, c.cargaHoraria) ";
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c ORDER BY c.id")
+    List<CourseDTO> findAllProjected();
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c WHERE c.id = :id")
+    Optional<CourseDTO> findProjectedById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c WHERE c.id IN :ids ORDER BY c.id")
+    List<CourseDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c WHERE UPPER(c.titulo) LIKE UPPER(CONCAT('%', :query, '%'))")
+    List<CourseDTO> findByTituloContaining(@Param("query") String query);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c WHERE c.id > :after ORDER BY c.id")
+    List<CourseDTO> findByIdGreaterThanOrderByIdAsc(@Param("after") Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(PROJECTION + "FROM Course c WHERE UPPER(c.titulo) LIKE UPPER(CONCAT('%', :query, '%')) AND c.id > :after ORDER BY c.id")
+    List<CourseDTO> findByTituloContainingAfter(@Param("query") String query, @Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(PROJECTION + "FROM Course c ORDER BY c.id")
+    Stream<CourseDTO> streamAll();
+
+    @Query("SELECT new com.catalog.courses.dto.CategoryFacet(c.categoria, COUNT(c), COALESCE(SUM(c.cargaHoraria), 0)) "
+            + "FROM Course c GROUP BY c.categoria")
+    List<CategoryFacet> aggregateByCategoria();
+
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,44 @@
+package com.catalog.courses.repository;
+
+import com.catalog.courses.dto.CourseFilter;
+import com.catalog.courses.model.Course;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Consultas dinâmicas sobre {@link Course}. Só entram no WHERE os critérios
+ * informados, para que o banco escolha o índice adequado a cada combinação
+ * (ver os índices declarados em {@code Course}).
+ */
+public final class CourseSpecifications {
+
+    private CourseSpecifications() {
+    }
+
+    public static Specification<Course> matching(String query, CourseFilter filter, Long after) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(5);
+            if (filter.getCategoria() != null && !filter.getCategoria().isEmpty()) {
+                predicates.add(cb.equal(root.get("categoria"), filter.getCategoria()));
+            }
+            if (filter.getMinHoras() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("cargaHoraria"), filter.getMinHoras()));
+            }
+            if (filter.getMaxHoras() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("cargaHoraria"), filter.getMaxHoras()));
+            }
+            if (query != null && !query.isEmpty()) {
+                predicates.add(cb.like(cb.upper(root.get("titulo")),
+                        "%" + query.toUpperCase(Locale.ROOT) + "%"));
+            }
+            if (after != null) {
+                predicates.add(cb.greaterThan(root.get("id"), after));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package com.catalog.courses.search;
+
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Slf4j
+public class CourseSearchIndex {
+
+    private final CourseRepository courseRepository;
+    private final boolean buildInBackground;
+    private final float minSimilarity;
+    private volatile TrigramIndex titleIndex = new TrigramIndex();
+    private volatile TrigramIndex rebuilding;
+    private volatile RelevanceIndex relevanceIndex;
+    private volatile RelevanceIndex relevanceRebuilding;
+    private volatile SuggestionTrie suggestions = new SuggestionTrie();
+    private volatile SuggestionTrie suggestionsRebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public CourseSearchIndex(CourseRepository courseRepository,
+                             @Value("${catalog.search.index.background:false}") boolean buildInBackground,
+                             @Value("${catalog.search.ranked.min-similarity:0.3}") float minSimilarity) {
+        this.courseRepository = courseRepository;
+        this.buildInBackground = buildInBackground;
+        this.minSimilarity = minSimilarity;
+        this.relevanceIndex = new RelevanceIndex(minSimilarity);
+    }
+
+    /**
+     * Constrói o índice na subida. Em segundo plano, a aplicação atende logo e as
+     * buscas usam LIKE no banco até o índice ficar pronto.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (buildInBackground) {
+            Thread.ofVirtual().name("course-search-index").start(this::build);
+        } else {
+            build();
+        }
+    }
+
+    public synchronized void build() {
+        long start = System.nanoTime();
+        TrigramIndex fresh = new TrigramIndex();
+        RelevanceIndex freshRelevance = new RelevanceIndex(minSimilarity);
+        SuggestionTrie freshSuggestions = new SuggestionTrie();
+        rebuilding = fresh;
+        relevanceRebuilding = freshRelevance;
+        suggestionsRebuilding = freshSuggestions;
+        try {
+            courseRepository.findAllProjected().forEach(course -> {
+                fresh.add(course.getId(), course.getTitulo());
+                freshRelevance.add(course.getId(), course.getTitulo(), course.getCategoria());
+                freshSuggestions.add(course.getTitulo());
+            });
+            titleIndex = fresh;
+            relevanceIndex = freshRelevance;
+            suggestions = freshSuggestions;
+            ready = true;
+        } finally {
+            rebuilding = null;
+            relevanceRebuilding = null;
+            suggestionsRebuilding = null;
+        }
+        log.info("Índice de busca construído: {} cursos em {} ms",
+                fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Ids que podem conter {@code query} no título, ou vazio quando o índice
+     * ainda não está pronto ou a consulta é curta demais para ter trigramas.
+     */
+    public Optional<long[]> findCandidates(String query) {
+        if (!ready || !TrigramIndex.isSearchable(query)) {
+            return Optional.empty();
+        }
+        return Optional.of(titleIndex.search(query));
+    }
+
+    /**
+     * Até {@code limit} ids em ordem de relevância para {@code query}, sem
+     * diferenciar acentos e tolerando erros de digitação, ou vazio quando o
+     * índice ainda não está pronto.
+     */
+    public Optional<long[]> rank(String query, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(relevanceIndex.search(query, limit));
+    }
+
+    /**
+     * Até {@code k} títulos com alguma palavra começando pela última palavra de
+     * {@code prefix}, mais curtos primeiro, ou vazio quando o índice ainda não
+     * está pronto.
+     */
+    public Optional<List<String>> suggest(String prefix, int k) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(suggestions.suggest(prefix, k));
+    }
+
+    /**
+     * Inclui o título nas sugestões. Diferente dos demais índices, que podem ter
+     * ids a mais, as sugestões devolvem o próprio título, então só recebem cursos
+     * já confirmados.
+     */
+    public void addSuggestion(String titulo) {
+        suggestions.add(titulo);
+        SuggestionTrie pending = suggestionsRebuilding;
+        if (pending != null) {
+            pending.add(titulo);
+        }
+    }
+
+    public void removeSuggestion(String titulo) {
+        suggestions.remove(titulo);
+        SuggestionTrie pending = suggestionsRebuilding;
+        if (pending != null) {
+            pending.remove(titulo);
+        }
+    }
+
+    public void indexCourse(Course course) {
+        if (course.getId() != null) {
+            titleIndex.add(course.getId(), course.getTitulo());
+            relevanceIndex.add(course.getId(), course.getTitulo(), course.getCategoria());
+            TrigramIndex pending = rebuilding;
+            if (pending != null) {
+                pending.add(course.getId(), course.getTitulo());
+            }
+            RelevanceIndex pendingRelevance = relevanceRebuilding;
+            if (pendingRelevance != null) {
+                pendingRelevance.add(course.getId(), course.getTitulo(), course.getCategoria());
+            }
+        }
+    }
+
+    /**
+     * Curso editado: os trigramas do título novo entram já, para que o índice
+     * continue um superconjunto; os do antigo saem em {@link #completeTitleChange}.
+     * A relevância só muda em {@link #updateRelevance}, após o commit.
+     */
+    public void beginUpdate(Course course) {
+        if (course.getId() != null) {
+            titleIndex.extend(course.getId(), course.getTitulo());
+            TrigramIndex pending = rebuilding;
+            if (pending != null) {
+                pending.extend(course.getId(), course.getTitulo());
+            }
+        }
+    }
+
+    /**
+     * Troca título e categoria de um curso na relevância. Ela guarda um único par
+     * por curso e não tem como voltar atrás num rollback, então só recebe edições
+     * já confirmadas.
+     */
+    public void updateRelevance(long id, String titulo, String categoria) {
+        relevanceIndex.add(id, titulo, categoria);
+        RelevanceIndex pendingRelevance = relevanceRebuilding;
+        if (pendingRelevance != null) {
+            pendingRelevance.add(id, titulo, categoria);
+        }
+    }
+
+    /**
+     * Retira do título os trigramas de {@code stale} que não estão em
+     * {@code current}: o título antigo após o commit, o novo após um rollback.
+     */
+    public void completeTitleChange(long id, String stale, String current) {
+        titleIndex.retract(id, stale, current);
+        TrigramIndex pending = rebuilding;
+        if (pending != null) {
+            pending.retract(id, stale, current);
+        }
+    }
+
+    public void removeCourse(Course course) {
+        if (course.getId() != null) {
+            titleIndex.remove(course.getId(), course.getTitulo());
+            relevanceIndex.remove(course.getId());
+            TrigramIndex pending = rebuilding;
+            if (pending != null) {
+                pending.remove(course.getId(), course.getTitulo());
+            }
+            RelevanceIndex pendingRelevance = relevanceRebuilding;
+            if (pendingRelevance != null) {
+                pendingRelevance.remove(course.getId());
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,54 @@
+package com.catalog.courses.search;
+
+import com.catalog.courses.model.Course;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantém o {@link CourseSearchIndex} como superconjunto das linhas visíveis:
+ * inclusões entram imediatamente e remoções só após o commit, de modo que um
+ * rollback nunca esconde um curso da busca. Ids órfãos são descartados na
+ * verificação feita pelo serviço. As sugestões de título, servidas sem passar
+ * pelo banco, mudam só após o commit. Edições passam pelo
+ * {@link CourseTitleChangeListener}, que conhece o título anterior.
+ */
+public class CourseSearchIndexListener {
+
+    private final ObjectProvider<CourseSearchIndex> searchIndex;
+
+    public CourseSearchIndexListener(ObjectProvider<CourseSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    public void onCreate(Course course) {
+        searchIndex.ifAvailable(index -> index.indexCourse(course));
+        // O título de agora: uma edição na mesma transação troca a sugestão depois
+        String titulo = course.getTitulo();
+        afterCommit(() -> searchIndex.ifAvailable(index -> index.addSuggestion(titulo)));
+    }
+
+    @PostRemove
+    public void onRemove(Course course) {
+        afterCommit(() -> searchIndex.ifAvailable(index -> {
+            index.removeCourse(course);
+            index.removeSuggestion(course.getTitulo());
+        }));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
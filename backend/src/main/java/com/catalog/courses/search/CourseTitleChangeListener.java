@@ -0,0 +1,108 @@
+package com.catalog.courses.search;
+
+import com.catalog.courses.model.Course;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * Atualizações de curso nos índices de busca. O {@code @PostUpdate} do JPA só
+ * enxerga o estado novo; aqui o Hibernate entrega também o título anterior, para
+ * que os trigramas dele saiam do índice em vez de se acumularem a cada edição.
+ * <p>
+ * Como no {@link CourseSearchIndexListener}, o índice segue um superconjunto: os
+ * trigramas do título novo entram já e os do antigo só saem após o commit; num
+ * rollback, saem os do novo. A relevância, que guarda um só título e categoria
+ * por curso, e as sugestões, servidas sem passar pelo banco, só recebem a edição
+ * após o commit.
+ */
+@Component
+public class CourseTitleChangeListener implements PostUpdateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<CourseSearchIndex> searchIndex;
+
+    @Autowired
+    public CourseTitleChangeListener(EntityManagerFactory entityManagerFactory,
+                                     ObjectProvider<CourseSearchIndex> searchIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.searchIndex = searchIndex;
+    }
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Course course) || course.getId() == null) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        String previous = oldState == null ? null
+                : (String) oldState[event.getPersister().getEntityMetamodel().getPropertyIndex("titulo")];
+        String current = course.getTitulo();
+        String categoria = course.getCategoria();
+        long id = course.getId();
+        boolean titleChanged = previous != null && !Objects.equals(previous, current);
+        searchIndex.ifAvailable(index -> index.beginUpdate(course));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    searchIndex.ifAvailable(index -> {
+                        index.updateRelevance(id, current, categoria);
+                        if (titleChanged) {
+                            index.removeSuggestion(previous);
+                            index.addSuggestion(current);
+                        }
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (!titleChanged) {
+                        return;
+                    }
+                    searchIndex.ifAvailable(index -> {
+                        if (status == STATUS_COMMITTED) {
+                            index.completeTitleChange(id, previous, current);
+                        } else {
+                            index.completeTitleChange(id, current, previous);
+                        }
+                    });
+                }
+            });
+        } else {
+            searchIndex.ifAvailable(index -> {
+                index.updateRelevance(id, current, categoria);
+                if (titleChanged) {
+                    index.completeTitleChange(id, previous, current);
+                    index.removeSuggestion(previous);
+                    index.addSuggestion(current);
+                }
+            });
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,435 @@
+package com.catalog.courses.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas para busca por relevância, tolerante a acentos e a erros
+ * de digitação, sobre título e categoria.
+ * <p>
+ * Os textos são dobrados (sem acentos, maiúsculos, só letras e dígitos separados
+ * por um espaço, com espaço nas pontas) antes de gerar os trigramas, de modo que
+ * "introducao" e "Introdução" compartilham todos eles e um erro de digitação
+ * custa só os trigramas que tocam a letra errada.
+ * <p>
+ * Cada curso recebe um ordinal denso; as listas de trigramas de título guardam
+ * ordinais, e as categorias (poucos valores distintos) têm trigramas e membros
+ * próprios. Uma busca conta, por ordinal, os trigramas de título em comum com a
+ * consulta, pontua só os cursos tocados (mais os das categorias semelhantes) e
+ * mantém os {@code k} melhores num heap, sem ordenar o conjunto de acertos.
+ * Remoções apenas marcam o ordinal; o espaço é recuperado na reconstrução.
+ */
+public class RelevanceIndex {
+
+    /** Peso dos trigramas da categoria em relação aos do título. */
+    public static final float CATEGORY_WEIGHT = 0.5f;
+
+    /** Consultas mais longas são truncadas; mantém a contagem por curso em um byte. */
+    public static final int MAX_QUERY_LENGTH = 64;
+
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final float minSimilarity;
+    private final Map<Long, OrdinalList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private final List<Category> categories = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids = new long[1024];
+    private byte[] gramCounts = new byte[1024];
+    private int[] categoryOf = new int[1024];
+    private int size;
+
+    /**
+     * @param minSimilarity fração mínima dos trigramas da consulta presentes no
+     *                      título ou na categoria para que um curso seja acerto
+     */
+    public RelevanceIndex(float minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    /** Remove acentos, passa para maiúsculas e reduz o resto a palavras separadas por um espaço. */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return " ";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length() + 2).append(' ');
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toUpperCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && folded.charAt(folded.length() - 1) != ' ') {
+                folded.append(' ');
+            }
+        }
+        if (folded.charAt(folded.length() - 1) != ' ') {
+            folded.append(' ');
+        }
+        return folded.toString();
+    }
+
+    public void add(long id, String titulo, String categoria) {
+        long[] grams = grams(fold(titulo));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = size++;
+            ensureCapacity();
+            ids[ordinal] = id;
+            gramCounts[ordinal] = (byte) Math.min(grams.length, 255);
+            int category = categoryOrdinal(categoria);
+            categoryOf[ordinal] = category;
+            categories.get(category).members.add(ordinal);
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new OrdinalList()).add(ordinal);
+            }
+            ordinals.put(id, ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids dos até {@code k} cursos mais relevantes para {@code query}, do mais ao menos relevante. */
+    public long[] search(String query, int k) {
+        String folded = fold(query);
+        if (folded.length() > MAX_QUERY_LENGTH + 2) {
+            folded = folded.substring(0, MAX_QUERY_LENGTH + 1) + ' ';
+        }
+        long[] queryGrams = grams(folded);
+        if (queryGrams.length == 0 || k < 1) {
+            return new long[0];
+        }
+        int q = queryGrams.length;
+        int threshold = Math.max(1, (int) Math.ceil(minSimilarity * q));
+        lock.readLock().lock();
+        try {
+            int[] categoryShared = new int[categories.size()];
+            int maxCategoryShared = 0;
+            for (int c = 0; c < categoryShared.length; c++) {
+                categoryShared[c] = countShared(queryGrams, categories.get(c).grams);
+                maxCategoryShared = Math.max(maxCategoryShared, categoryShared[c]);
+            }
+            OrdinalList[] lists = new OrdinalList[q];
+            for (int i = 0; i < q; i++) {
+                lists[i] = postings.getOrDefault(queryGrams[i], OrdinalList.EMPTY);
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            // Quem não está em nenhuma das listas mais raras não alcança o mínimo de
+            // trigramas do título; as listas comuns só completam a contagem desses.
+            int prefix = q - Math.max(1, threshold - maxCategoryShared) + 1;
+            byte[] shared = new byte[size];
+            OrdinalList touched = new OrdinalList();
+            int nextCheckpoint = k;
+            int scanned = 0;
+            while (scanned < prefix) {
+                OrdinalList list = lists[scanned];
+                // Antes de percorrer uma lista maior que os candidatos já vistos,
+                // pontua esses candidatos; se nem um curso com todas as listas
+                // restantes alcançaria o k-ésimo, eles já são a resposta.
+                if (list.size > touched.size && touched.size >= nextCheckpoint) {
+                    TopK top = scoreTouched(k, touched, shared, lists, scanned, categoryShared, q, threshold);
+                    if (top.isFull() && upperBound(q - scanned, maxCategoryShared, q) < top.minScore()) {
+                        return top.sortedIds();
+                    }
+                    nextCheckpoint = 2 * touched.size;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = list.ordinals[i];
+                    if (shared[ordinal]++ == 0) {
+                        touched.add(ordinal);
+                    }
+                }
+                scanned++;
+            }
+            // Completar a contagem percorrendo as listas restantes sai mais barato
+            // que buscá-los nelas quando os candidatos são muitos.
+            long rest = 0;
+            for (int l = scanned; l < q; l++) {
+                rest += lists[l].size;
+            }
+            if (rest <= 8L * touched.size) {
+                for (; scanned < q; scanned++) {
+                    OrdinalList list = lists[scanned];
+                    for (int i = 0; i < list.size; i++) {
+                        if (shared[list.ordinals[i]] != 0) {
+                            shared[list.ordinals[i]]++;
+                        }
+                    }
+                }
+            }
+
+            TopK top = scoreTouched(k, touched, shared, lists, scanned, categoryShared, q, threshold);
+            for (int c = 0; c < categoryShared.length; c++) {
+                if (categoryShared[c] >= threshold) {
+                    OrdinalList members = categories.get(c).members;
+                    for (int i = 0; i < members.size; i++) {
+                        if (shared[members.ordinals[i]] == 0) {
+                            offer(top, members.ordinals[i], 0, categoryShared, q, threshold);
+                        }
+                    }
+                }
+            }
+            return top.sortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pontua os cursos já tocados, completando a contagem de cada um com as
+     * listas a partir de {@code from}, sem alterar {@code shared}.
+     */
+    private TopK scoreTouched(int k, OrdinalList touched, byte[] shared, OrdinalList[] lists, int from,
+                              int[] categoryShared, int q, int threshold) {
+        int[] sorted = Arrays.copyOf(touched.ordinals, touched.size);
+        byte[] rest = new byte[sorted.length];
+        if (from < lists.length) {
+            Arrays.sort(sorted);
+            for (int l = from; l < lists.length; l++) {
+                lists[l].countMembers(sorted, rest);
+            }
+        }
+        TopK top = new TopK(k);
+        for (int i = 0; i < sorted.length; i++) {
+            offer(top, sorted[i], shared[sorted[i]] + rest[i], categoryShared, q, threshold);
+        }
+        return top;
+    }
+
+    /** Maior pontuação possível de um curso com até {@code titleShared} trigramas de título em comum. */
+    private static float upperBound(int titleShared, int categoryShared, int q) {
+        float coverage = Math.min(1f, (titleShared + CATEGORY_WEIGHT * categoryShared) / q);
+        return 0.8f * coverage + 0.2f * titleShared / q;
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pontuação: cobertura da consulta pelos trigramas do título mais
+     * {@link #CATEGORY_WEIGHT} vezes os da categoria (limitada a 1), com peso 0,8,
+     * e semelhança de Jaccard com o título, com peso 0,2, para que, entre títulos
+     * que cobrem a consulta igualmente, o mais curto venha antes.
+     */
+    private void offer(TopK top, int ordinal, int titleShared, int[] categoryShared, int q, int threshold) {
+        long id = ids[ordinal];
+        int sharedCategory = categoryShared[categoryOf[ordinal]];
+        if (id == REMOVED || titleShared + sharedCategory < threshold) {
+            return;
+        }
+        int d = Byte.toUnsignedInt(gramCounts[ordinal]);
+        float coverage = Math.min(1f, (titleShared + CATEGORY_WEIGHT * sharedCategory) / q);
+        float jaccard = (float) titleShared / (q + d - titleShared);
+        top.offer(id, 0.8f * coverage + 0.2f * jaccard);
+    }
+
+    private void removeLocked(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal != null) {
+            ids[ordinal] = REMOVED;
+        }
+    }
+
+    private int categoryOrdinal(String categoria) {
+        String key = categoria == null ? "" : categoria;
+        Integer ordinal = categoryOrdinals.get(key);
+        if (ordinal == null) {
+            ordinal = categories.size();
+            categories.add(new Category(grams(fold(categoria))));
+            categoryOrdinals.put(key, ordinal);
+        }
+        return ordinal;
+    }
+
+    private void ensureCapacity() {
+        if (size > ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            gramCounts = Arrays.copyOf(gramCounts, capacity);
+            categoryOf = Arrays.copyOf(categoryOf, capacity);
+        }
+    }
+
+    /** Trigramas distintos e ordenados de um texto já dobrado. */
+    static long[] grams(String folded) {
+        if (folded.isBlank()) {
+            return new long[0];
+        }
+        return TrigramIndex.trigrams(folded);
+    }
+
+    private static int countShared(long[] sortedA, long[] sortedB) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sortedA.length && j < sortedB.length) {
+            if (sortedA[i] == sortedB[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (sortedA[i] < sortedB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private static final class Category {
+        private final long[] grams;
+        private final OrdinalList members = new OrdinalList();
+
+        Category(long[] grams) {
+            this.grams = grams;
+        }
+    }
+
+    /** Ordinais em ordem crescente (são atribuídos em ordem e só acrescentados). */
+    private static final class OrdinalList {
+        static final OrdinalList EMPTY = new OrdinalList();
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        /**
+         * Soma 1 em {@code counts[i]} para cada {@code sorted[i]} presente nesta
+         * lista. A busca galopa a partir da última posição encontrada, então
+         * candidatos próximos custam poucos passos mesmo em listas enormes.
+         */
+        void countMembers(int[] sorted, byte[] counts) {
+            int from = 0;
+            for (int i = 0; i < sorted.length && from < size; i++) {
+                int step = 1;
+                while (from + step < size && ordinals[from + step] < sorted[i]) {
+                    step <<= 1;
+                }
+                int pos = Arrays.binarySearch(ordinals, from + (step >> 1), Math.min(from + step + 1, size), sorted[i]);
+                if (pos >= 0) {
+                    counts[i]++;
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+        }
+    }
+
+    /** Heap mínimo com os {@code k} melhores; empate de pontuação favorece o menor id. */
+    private static final class TopK {
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ids = new long[k];
+            this.scores = new float[k];
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (better(id, score, ids[0], scores[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        float minScore() {
+            return scores[0];
+        }
+
+        long[] sortedIds() {
+            long[] sorted = new long[size];
+            for (int n = size; n > 0; n--) {
+                sorted[n - 1] = ids[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private static boolean better(long id, float score, long otherId, float otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(ids[parent], scores[parent], ids[i], scores[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && better(ids[worst], scores[worst], ids[left], scores[left])) {
+                    worst = left;
+                }
+                if (right < size && better(ids[worst], scores[worst], ids[right], scores[right])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package com.catalog.courses.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Trie das palavras dos títulos, para autocompletar.
+ * <p>
+ * Os títulos são dobrados como em {@link RelevanceIndex#fold} e quebrados em
+ * palavras, inseridas caractere a caractere. Cada nó guarda os até
+ * {@link #MAX_SUGGESTIONS} melhores títulos com alguma palavra começando pelo
+ * prefixo do nó (mais curtos primeiro, depois em ordem alfabética), então
+ * sugerir é descer o prefixo e copiar a lista, sem percorrer a subárvore. Os nós
+ * ficam em arrays paralelos (rótulo, primeiro filho, próximo irmão) em vez de
+ * objetos, e títulos repetidos são guardados uma vez só.
+ * <p>
+ * Em consultas com várias palavras, a última é o prefixo e as anteriores precisam
+ * aparecer inteiras no título; os candidatos vêm das listas dos nós da consulta.
+ * Nós com mais de {@link #DEEP_THRESHOLD} títulos na subárvore guardam também
+ * uma lista mais funda, de {@link #DEEP_SUGGESTIONS} títulos na mesma ordem, para
+ * que palavras comuns não obriguem a percorrer a subárvore: basta filtrar a lista
+ * até achar {@code k}. Quando nem ela basta, a busca percorre os títulos da
+ * palavra completa mais rara ou os da subárvore do prefixo, o que for menor, até
+ * {@link #DEEP_THRESHOLD} deles. Acima disso (palavras comuns que raramente
+ * aparecem juntas), a resposta são os melhores títulos achados nas listas e nesse
+ * trecho, e pode não ser a melhor possível: o custo de uma consulta fica limitado
+ * pelo tamanho das listas e por {@link #DEEP_THRESHOLD}, não pelo do catálogo.
+ * <p>
+ * Uma remoção só esconde o título quando nenhum curso o usa mais; a lista de um
+ * nó pode ficar menor que o limite até a próxima reconstrução. Se o título volta
+ * a ser usado, ele é oferecido de novo às listas dos seus nós.
+ */
+public class SuggestionTrie {
+
+    /** Tamanho da lista guardada em cada nó e, portanto, máximo de sugestões por consulta. */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    /** Tamanho das listas fundas, usadas para filtrar consultas com várias palavras. */
+    static final int DEEP_SUGGESTIONS = 256;
+
+    /** Títulos na subárvore a partir dos quais o nó ganha lista funda. */
+    static final int DEEP_THRESHOLD = 1024;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final char MARK = '\0';
+
+    /**
+     * Caracteres até U+024F já dobrados como em {@link RelevanceIndex#fold}:
+     * letra ou dígito sem acento e em maiúscula, espaço para separadores e
+     * {@link #MARK} para marcas de acento soltas, que são ignoradas.
+     */
+    private static final char[] FOLDED = new char[0x250];
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+            if (Character.isLetterOrDigit(base)) {
+                FOLDED[c] = Character.toUpperCase(base);
+            } else {
+                FOLDED[c] = Character.getType(base) == Character.NON_SPACING_MARK ? MARK : ' ';
+            }
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] titleSlots = new int[2048];
+    private String[] titles = new String[1024];
+    private int[] titleCounts = new int[1024];
+    private int titleCount;
+    private int visibleTitles;
+    private boolean titlesHidden;
+
+    private char[] labels = new char[1024];
+    private int[] firstChild = new int[1024];
+    private int[] nextSibling = new int[1024];
+    private int[][] best = new int[1024][];
+    private int[][] deep = new int[1024][];
+    private int[][] wordTitles = new int[1024][];
+    private int[] wordTitleCounts = new int[1024];
+    private int[] subtreeTitles = new int[1024];
+    private int nodeCount;
+
+    public SuggestionTrie() {
+        newNode(ROOT, '\0');
+    }
+
+    public void add(String titulo) {
+        if (titulo == null) {
+            return;
+        }
+        String[] words = words(titulo);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(titulo);
+            if (titleSlots[slot] != 0) {
+                int ordinal = titleSlots[slot] - 1;
+                if (titleCounts[ordinal]++ == 0) {
+                    visibleTitles++;
+                    reoffer(words, ordinal);
+                }
+                return;
+            }
+            int ordinal = titleCount++;
+            if (ordinal == titles.length) {
+                titles = Arrays.copyOf(titles, ordinal + (ordinal >> 1));
+                titleCounts = Arrays.copyOf(titleCounts, titles.length);
+            }
+            titles[ordinal] = titulo;
+            titleCounts[ordinal] = 1;
+            titleSlots[slot] = ordinal + 1;
+            if (2 * titleCount > titleSlots.length) {
+                rehashTitles();
+            }
+            visibleTitles++;
+            for (String word : words) {
+                int node = ROOT;
+                for (int i = 0; i < word.length(); i++) {
+                    node = childOrCreate(node, word.charAt(i));
+                    subtreeTitles[node]++;
+                    offer(best, node, ordinal, MAX_SUGGESTIONS);
+                    if (deep[node] == null && subtreeTitles[node] > DEEP_THRESHOLD) {
+                        deep[node] = collect(node, DEEP_SUGGESTIONS);
+                    }
+                    if (deep[node] != null) {
+                        offer(deep, node, ordinal, DEEP_SUGGESTIONS);
+                    }
+                }
+                addWordTitle(node, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Um título escondido que volta a ser usado pode ter saído das listas dos seus nós. */
+    private void reoffer(String[] words, int ordinal) {
+        for (String word : words) {
+            int node = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                node = child(node, word.charAt(i));
+                offer(best, node, ordinal, MAX_SUGGESTIONS);
+                if (deep[node] != null) {
+                    offer(deep, node, ordinal, DEEP_SUGGESTIONS);
+                }
+            }
+        }
+    }
+
+    /** Desconta um curso com {@code titulo}; o título some das sugestões quando nenhum outro o usa. */
+    public void remove(String titulo) {
+        if (titulo == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int ordinal = titleSlots[slotOf(titulo)] - 1;
+            if (ordinal >= 0 && titleCounts[ordinal] > 0 && --titleCounts[ordinal] == 0) {
+                visibleTitles--;
+                titlesHidden = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Até {@code k} títulos com uma palavra começando pela última palavra de {@code prefix}. */
+    public List<String> suggest(String prefix, int k) {
+        String folded = RelevanceIndex.fold(prefix).trim();
+        if (folded.isEmpty() || k < 1) {
+            return List.of();
+        }
+        String[] words = folded.split(" ");
+        String partial = words[words.length - 1];
+        lock.readLock().lock();
+        try {
+            int node = find(partial);
+            if (node == NONE || best[node] == null) {
+                return List.of();
+            }
+            if (words.length == 1) {
+                List<String> suggestions = new ArrayList<>(Math.min(k, best[node].length));
+                for (int ordinal : best[node]) {
+                    if (titleCounts[ordinal] > 0) {
+                        suggestions.add(titles[ordinal]);
+                        if (suggestions.size() == k) {
+                            break;
+                        }
+                    }
+                }
+                return suggestions;
+            }
+            return suggestAll(words, node, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Títulos distintos visíveis. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return visibleTitles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Primeiro tenta as listas dos nós da consulta, depois as listas fundas: se
+     * {@code k} títulos de uma delas passam pelos filtros, ou se a lista tem todos
+     * os títulos do nó, eles são a resposta, porque qualquer título fora da lista
+     * fica atrás dos que estão nela. Senão, percorre os títulos da palavra
+     * completa mais rara ou os da subárvore do prefixo, o que for menor, mas no
+     * máximo {@link #DEEP_THRESHOLD} deles, somando os títulos das listas que já
+     * passaram pelos filtros; só é exato quando o menor dos dois cabe nesse limite.
+     */
+    private List<String> suggestAll(String[] words, int partialNode, int k) {
+        String partial = words[words.length - 1];
+        int[] wordNodes = new int[words.length - 1];
+        int rarest = NONE;
+        for (int i = 0; i < wordNodes.length; i++) {
+            int node = find(words[i]);
+            if (node == NONE || wordTitles[node] == null) {
+                return List.of();
+            }
+            wordNodes[i] = node;
+            if (rarest == NONE || wordTitleCounts[node] < wordTitleCounts[rarest]) {
+                rarest = node;
+            }
+        }
+        TopTitles top = new TopTitles(k);
+        for (int[][] lists : new int[][][]{best, deep}) {
+            for (int i = 0; i <= wordNodes.length; i++) {
+                int[] list = lists[i < wordNodes.length ? wordNodes[i] : partialNode];
+                if (list == null) {
+                    continue;
+                }
+                List<String> suggestions = new ArrayList<>(k);
+                for (int n = 0; n < list.length && suggestions.size() < k; n++) {
+                    int ordinal = list[n];
+                    if (titleCounts[ordinal] > 0 && matches(ordinal, wordNodes, partial)) {
+                        suggestions.add(titles[ordinal]);
+                        if (top.accepts(ordinal)) {
+                            top.add(ordinal);
+                        }
+                    }
+                }
+                if (suggestions.size() == k || (lists == best && list.length < MAX_SUGGESTIONS && !titlesHidden)) {
+                    return suggestions;
+                }
+            }
+        }
+
+        if (subtreeTitles[partialNode] < wordTitleCounts[rarest]) {
+            // Todo título da subárvore já tem uma palavra com o prefixo.
+            forEachInSubtree(partialNode, DEEP_THRESHOLD, ordinal -> {
+                if (top.accepts(ordinal) && matches(ordinal, wordNodes, null)) {
+                    top.add(ordinal);
+                }
+            });
+        } else {
+            for (int i = 0; i < Math.min(wordTitleCounts[rarest], DEEP_THRESHOLD); i++) {
+                int ordinal = wordTitles[rarest][i];
+                if (titleCounts[ordinal] > 0 && top.accepts(ordinal) && matches(ordinal, wordNodes, partial)) {
+                    top.add(ordinal);
+                }
+            }
+        }
+        return top.titles();
+    }
+
+    /** Os {@code limit} melhores títulos visíveis da subárvore de {@code node}, em ordem. */
+    private int[] collect(int node, int limit) {
+        TopTitles top = new TopTitles(limit);
+        forEachInSubtree(node, Integer.MAX_VALUE, ordinal -> {
+            if (top.accepts(ordinal)) {
+                top.add(ordinal);
+            }
+        });
+        return top.ordinals();
+    }
+
+    /**
+     * Até {@code limit} títulos visíveis com alguma palavra começando pelo prefixo
+     * de {@code node}; um título com duas dessas palavras aparece duas vezes.
+     */
+    private void forEachInSubtree(int root, int limit, IntConsumer action) {
+        int[] stack = new int[16];
+        int depth = 0;
+        int visited = 0;
+        stack[depth++] = root;
+        while (depth > 0) {
+            int node = stack[--depth];
+            for (int i = 0; i < wordTitleCounts[node]; i++) {
+                int ordinal = wordTitles[node][i];
+                if (titleCounts[ordinal] > 0) {
+                    if (visited++ == limit) {
+                        return;
+                    }
+                    action.accept(ordinal);
+                }
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = child;
+            }
+        }
+    }
+
+    /**
+     * Se o título tem todas as palavras completas e alguma palavra começando por
+     * {@code partial} ({@code null} quando já se sabe que tem).
+     */
+    private boolean matches(int ordinal, int[] wordNodes, String partial) {
+        for (int node : wordNodes) {
+            if (Arrays.binarySearch(wordTitles[node], 0, wordTitleCounts[node], ordinal) < 0) {
+                return false;
+            }
+        }
+        return partial == null || hasWordStartingWith(titles[ordinal], partial);
+    }
+
+    /** Compara {@code partial} com o começo de cada palavra do título, dobrando um caractere por vez. */
+    static boolean hasWordStartingWith(String titulo, String partial) {
+        int matched = 0;
+        for (int i = 0; i < titulo.length(); i++) {
+            char c = titulo.charAt(i);
+            if (c >= FOLDED.length) {
+                return RelevanceIndex.fold(titulo).contains(" " + partial);
+            }
+            char folded = FOLDED[c];
+            if (folded == MARK) {
+                continue;
+            }
+            if (folded == ' ') {
+                matched = 0;
+            } else if (matched >= 0) {
+                if (folded != partial.charAt(matched)) {
+                    matched = -1;
+                } else if (++matched == partial.length()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Insere {@code ordinal} na lista do nó em {@code lists}, se couber entre os
+     * {@code capacity} melhores, descartando no caminho os títulos escondidos.
+     */
+    private void offer(int[][] lists, int node, int ordinal, int capacity) {
+        int[] list = lists[node];
+        if (list == null) {
+            lists[node] = new int[]{ordinal};
+            return;
+        }
+        int last = list[list.length - 1];
+        if (list.length == capacity && titleCounts[last] > 0 && !before(ordinal, last)) {
+            return;
+        }
+        int[] merged = new int[Math.min(list.length + 1, capacity)];
+        int n = 0;
+        boolean placed = false;
+        for (int existing : list) {
+            if (existing == ordinal) {
+                return;
+            }
+            if (titleCounts[existing] == 0) {
+                continue;
+            }
+            if (!placed && before(ordinal, existing)) {
+                merged[n++] = ordinal;
+                placed = true;
+            }
+            if (n < merged.length) {
+                merged[n++] = existing;
+            }
+        }
+        if (!placed && n < merged.length) {
+            merged[n++] = ordinal;
+        }
+        lists[node] = n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    /** Títulos em ordem crescente de ordinal, cada um uma vez. */
+    private void addWordTitle(int node, int ordinal) {
+        int[] list = wordTitles[node];
+        int size = wordTitleCounts[node];
+        if (list == null) {
+            list = wordTitles[node] = new int[1];
+        } else if (list[size - 1] == ordinal) {
+            return;
+        } else if (size == list.length) {
+            list = wordTitles[node] = Arrays.copyOf(list, size + (size >> 1) + 1);
+        }
+        list[size] = ordinal;
+        wordTitleCounts[node] = size + 1;
+    }
+
+    /**
+     * Posição de {@code titulo} na tabela de títulos (endereçamento aberto, com o
+     * ordinal + 1 em cada posição), ou da posição livre onde ele entraria.
+     */
+    private int slotOf(String titulo) {
+        int mask = titleSlots.length - 1;
+        int hash = titulo.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (titleSlots[slot] != 0 && !titles[titleSlots[slot] - 1].equals(titulo)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehashTitles() {
+        titleSlots = new int[titleSlots.length * 2];
+        for (int ordinal = 0; ordinal < titleCount; ordinal++) {
+            titleSlots[slotOf(titles[ordinal])] = ordinal + 1;
+        }
+    }
+
+    /** Mais curto primeiro; no mesmo tamanho, ordem alfabética. */
+    private boolean before(int a, int b) {
+        int byLength = Integer.compare(titles[a].length(), titles[b].length());
+        return byLength != 0 ? byLength < 0 : titles[a].compareTo(titles[b]) < 0;
+    }
+
+    private int find(String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NONE; i++) {
+            node = child(node, word.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        int child = firstChild[node];
+        while (child != NONE && labels[child] != label) {
+            child = nextSibling[child];
+        }
+        return child;
+    }
+
+    private int childOrCreate(int node, char label) {
+        int child = child(node, label);
+        if (child == NONE) {
+            child = nodeCount;
+            newNode(child, label);
+            nextSibling[child] = firstChild[node];
+            firstChild[node] = child;
+        }
+        return child;
+    }
+
+    private void newNode(int node, char label) {
+        if (node == labels.length) {
+            int capacity = node + (node >> 1);
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            best = Arrays.copyOf(best, capacity);
+            deep = Arrays.copyOf(deep, capacity);
+            wordTitles = Arrays.copyOf(wordTitles, capacity);
+            wordTitleCounts = Arrays.copyOf(wordTitleCounts, capacity);
+            subtreeTitles = Arrays.copyOf(subtreeTitles, capacity);
+        }
+        labels[node] = label;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        nodeCount++;
+    }
+
+    /** Palavras distintas do texto dobrado, na ordem em que aparecem. */
+    static String[] words(String text) {
+        String folded = RelevanceIndex.fold(text).trim();
+        if (folded.isEmpty()) {
+            return new String[0];
+        }
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(folded.split(" ")));
+        return words.toArray(String[]::new);
+    }
+
+    /** Os {@code k} melhores títulos vistos até agora, em ordem. */
+    private final class TopTitles {
+        private final int[] ordinals;
+        private int size;
+
+        TopTitles(int k) {
+            this.ordinals = new int[k];
+        }
+
+        boolean accepts(int ordinal) {
+            return size < ordinals.length || before(ordinal, ordinals[size - 1]);
+        }
+
+        /** Um título com duas palavras que começam pelo prefixo aparece duas vezes na subárvore. */
+        void add(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    return;
+                }
+            }
+            int pos = size < ordinals.length ? size++ : size - 1;
+            while (pos > 0 && before(ordinal, ordinals[pos - 1])) {
+                ordinals[pos] = ordinals[pos - 1];
+                pos--;
+            }
+            ordinals[pos] = ordinal;
+        }
+
+        int[] ordinals() {
+            return Arrays.copyOf(ordinals, size);
+        }
+
+        List<String> titles() {
+            List<String> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(titles[ordinals[i]]);
+            }
+            return suggestions;
+        }
+    }
+}
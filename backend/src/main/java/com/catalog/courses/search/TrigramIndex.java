@@ -0,0 +1,231 @@
+package com.catalog.courses.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre textos curtos (títulos de curso).
+ * <p>
+ * Cada trigrama aponta para uma lista ordenada de ids. Uma busca por substring
+ * intersecta as listas dos trigramas da consulta e devolve um superconjunto dos
+ * ids cujo texto contém a consulta; a verificação final fica a cargo do chamador.
+ */
+public class TrigramIndex {
+
+    public static final int GRAM = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long documents;
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    public static boolean isSearchable(String query) {
+        return query != null && query.length() >= GRAM;
+    }
+
+    public void add(long id, String text) {
+        long[] grams = trigrams(normalize(text));
+        lock.writeLock().lock();
+        try {
+            boolean added = false;
+            for (long gram : grams) {
+                added |= postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+            }
+            if (added) {
+                documents++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, String text) {
+        long[] grams = trigrams(normalize(text));
+        lock.writeLock().lock();
+        try {
+            boolean removed = false;
+            for (long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list != null && list.remove(id)) {
+                    removed = true;
+                    if (list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (removed) {
+                documents--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Acrescenta os trigramas de {@code text} a um documento já indexado (título
+     * editado), sem contá-lo de novo.
+     */
+    public void extend(long id, String text) {
+        long[] grams = trigrams(normalize(text));
+        lock.writeLock().lock();
+        try {
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira do documento os trigramas de {@code text} que não aparecem em
+     * {@code kept}, sem descontá-lo; completa a edição iniciada por {@link #extend}.
+     */
+    public void retract(long id, String text, String kept) {
+        long[] grams = trigrams(normalize(text));
+        long[] keptGrams = trigrams(normalize(kept));
+        lock.writeLock().lock();
+        try {
+            for (long gram : grams) {
+                if (Arrays.binarySearch(keptGrams, gram) >= 0) {
+                    continue;
+                }
+                PostingList list = postings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids candidatos, em ordem crescente, para textos que contêm {@code query}.
+     * A consulta precisa ter pelo menos {@link #GRAM} caracteres.
+     */
+    public long[] search(String query) {
+        if (!isSearchable(query)) {
+            throw new IllegalArgumentException("Consulta deve ter pelo menos " + GRAM + " caracteres");
+        }
+        long[] grams = trigrams(normalize(query));
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return new long[0];
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int length = result.length;
+            for (int i = 1; i < lists.length && length > 0; i++) {
+                length = lists[i].retainAll(result, length);
+            }
+            return length == result.length ? result : Arrays.copyOf(result, length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static long[] trigrams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return true;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return false;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        /** Mantém em {@code candidates[0..length)} apenas os ids presentes nesta lista. */
+        int retainAll(long[] candidates, int length) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < length && from < size; i++) {
+                int pos = Arrays.binarySearch(ids, from, size, candidates[i]);
+                if (pos >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            return kept;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
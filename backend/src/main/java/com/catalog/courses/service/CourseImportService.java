@@ -0,0 +1,141 @@
+package com.catalog.courses.service;
+
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseCache;
+import com.catalog.courses.dto.CourseImportResult;
+import com.catalog.courses.event.CourseEventDispatcher;
+import com.catalog.courses.event.CoursesImportedEvent;
+import com.catalog.courses.model.Course;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Importa cursos em lotes: cada lote de {@code batchSize} itens válidos é gravado
+ * em uma transação própria, com INSERTs agrupados em um único batch JDBC, e gera
+ * um único {@link CoursesImportedEvent}.
+ */
+@Service
+@Slf4j
+public class CourseImportService {
+
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final CourseEventDispatcher eventDispatcher;
+    private final CourseCache courseCache;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public CourseImportService(EntityManager entityManager, Validator validator,
+                               CourseEventDispatcher eventDispatcher,
+                               CourseCache courseCache, CatalogVersion catalogVersion,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${catalog.import.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventDispatcher = eventDispatcher;
+        this.courseCache = courseCache;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Consome {@code courses} validando cada item. Falhas de leitura de um item
+     * (lançadas por {@code next()}) são registradas e a leitura continua; uma
+     * falha em {@code hasNext()} encerra a importação.
+     */
+    public CourseImportResult importCourses(Iterator<Course> courses) {
+        CourseImportResult result = new CourseImportResult();
+        List<Course> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        int index = 0;
+        while (true) {
+            try {
+                if (!courses.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                result.getFailures().add(failure(index, "Corpo inválido: " + e.getMessage()));
+                break;
+            }
+            int current = index++;
+            Course course;
+            try {
+                course = courses.next();
+            } catch (RuntimeException e) {
+                result.getFailures().add(failure(current, "Item inválido: " + e.getMessage()));
+                continue;
+            }
+            List<String> errors = validate(course);
+            if (!errors.isEmpty()) {
+                result.getFailures().add(new CourseImportResult.ItemFailure(current, errors));
+                continue;
+            }
+            course.setId(null);
+            batch.add(course);
+            batchIndexes.add(current);
+            if (batch.size() == batchSize) {
+                flush(batch, batchIndexes, result);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, batchIndexes, result);
+        }
+        result.setReceived(index);
+        return result;
+    }
+
+    private void flush(List<Course> batch, List<Integer> batchIndexes, CourseImportResult result) {
+        List<Course> saved = List.copyOf(batch);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                saved.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+                courseCache.invalidateAfterCommit(saved);
+                catalogVersion.bumpAfterCommit();
+                eventDispatcher.dispatch(new CoursesImportedEvent(this, saved));
+            });
+            result.setCreated(result.getCreated() + saved.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} cursos", saved.size(), e);
+            String message = "Falha ao gravar o lote: " + e.getMessage();
+            batchIndexes.forEach(i -> result.getFailures().add(failure(i, message)));
+        }
+        batch.clear();
+        batchIndexes.clear();
+    }
+
+    private List<String> validate(Course course) {
+        if (course == null) {
+            return List.of("Item vazio");
+        }
+        Set<ConstraintViolation<Course>> violations = validator.validate(course);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<Course> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.sort(null);
+        return errors;
+    }
+
+    private static CourseImportResult.ItemFailure failure(int index, String message) {
+        return new CourseImportResult.ItemFailure(index, List.of(message));
+    }
+}
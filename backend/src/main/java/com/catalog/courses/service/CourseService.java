@@ -1,45 +1,340 @@
 package com.catalog.courses.service;
 
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseCache;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.dto.CourseFilter;
+import com.catalog.courses.dto.CoursePage;
 import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CourseEventDispatcher;
+import com.catalog.courses.metrics.CatalogMetrics;
 import com.catalog.courses.model.Course;
 import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.repository.CourseSpecifications;
+import com.catalog.courses.search.CourseSearchIndex;
+import com.catalog.courses.search.SuggestionTrie;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CourseService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_RANKED_RESULTS = 100;
+    private static final int FETCH_CHUNK_SIZE = 1000;
+
     private final CourseRepository courseRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final CourseEventDispatcher eventDispatcher;
+    private final CourseSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final CourseCache courseCache;
+    private final CatalogVersion catalogVersion;
+    private final CourseWriteCoalescer writeCoalescer;
+
+    private final Timer createTimer;
+    private final Timer listTimer;
+    private final Timer searchTimer;
+    private final Timer filterTimer;
+    private final Timer pageTimer;
+    private final Timer streamTimer;
+    private final Timer findByIdTimer;
+    private final Timer rankTimer;
+    private final Timer suggestTimer;
+    private final DistributionSummary searchResults;
 
     @Autowired
-    public CourseService(CourseRepository courseRepository, ApplicationEventPublisher eventPublisher) {
+    public CourseService(CourseRepository courseRepository, CourseEventDispatcher eventDispatcher,
+                         CourseSearchIndex searchIndex, EntityManager entityManager,
+                         CourseCache courseCache, CatalogVersion catalogVersion,
+                         CourseWriteCoalescer writeCoalescer, MeterRegistry meterRegistry) {
         this.courseRepository = courseRepository;
-        this.eventPublisher = eventPublisher;
+        this.eventDispatcher = eventDispatcher;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.courseCache = courseCache;
+        this.catalogVersion = catalogVersion;
+        this.writeCoalescer = writeCoalescer;
+        this.createTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "create");
+        this.listTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "list");
+        this.searchTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "search");
+        this.filterTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "filter");
+        this.pageTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "page");
+        this.streamTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "stream");
+        this.findByIdTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "findById");
+        this.rankTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "rank");
+        this.suggestTimer = CatalogMetrics.timer(meterRegistry, CatalogMetrics.SERVICE, "suggest");
+        this.searchResults = CatalogMetrics.searchResults(meterRegistry);
     }
 
+    /**
+     * Grava o curso numa transação própria ou, com group commit habilitado, junto
+     * com as criações concorrentes ({@link CourseWriteCoalescer}). O evento e o
+     * incremento de versão continuam sendo um por curso, após o commit.
+     */
     public Course createCourse(Course course) {
+        long start = System.nanoTime();
+        try {
+            return writeCoalescer.write(course, this::saveAndPublish);
+        } finally {
+            CatalogMetrics.record(createTimer, start);
+        }
+    }
+
+    private Course saveAndPublish(Course course) {
         Course savedCourse = courseRepository.save(course);
-        eventPublisher.publishEvent(new CourseCreatedEvent(this, savedCourse));
+        courseCache.invalidateAfterCommit(List.of(savedCourse));
+        catalogVersion.bumpAfterCommit();
+        eventDispatcher.dispatch(new CourseCreatedEvent(this, savedCourse));
         return savedCourse;
     }
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public List<CourseDTO> getAllCourses() {
+        long start = System.nanoTime();
+        try {
+            return courseRepository.findAllProjected();
+        } finally {
+            CatalogMetrics.record(listTimer, start);
+        }
     }
 
-    public List<Course> searchCourses(String query) {
+    public List<CourseDTO> searchCourses(String query) {
         if (query == null || query.isEmpty()) {
             return getAllCourses();
         }
-        return courseRepository.findByTituloContaining(query);
+        long start = System.nanoTime();
+        try {
+            List<CourseDTO> results = courseCache.search(query, this::loadSearch);
+            searchResults.record(results.size());
+            return results;
+        } finally {
+            CatalogMetrics.record(searchTimer, start);
+        }
+    }
+
+    /**
+     * Busca por título combinada com filtros de categoria e carga horária. Sem
+     * filtros, equivale a {@link #searchCourses(String)}; com filtros, a consulta
+     * vai ao banco e usa os índices de {@code categoria}/{@code carga_horaria}.
+     */
+    public List<CourseDTO> searchCourses(String query, CourseFilter filter) {
+        if (filter == null || !filter.hasCriteria()) {
+            return searchCourses(query);
+        }
+        long start = System.nanoTime();
+        try {
+            List<CourseDTO> results = courseRepository.findProjected(
+                    CourseSpecifications.matching(query, filter, null), Integer.MAX_VALUE);
+            searchResults.record(results.size());
+            return results;
+        } finally {
+            CatalogMetrics.record(filterTimer, start);
+        }
+    }
+
+    /**
+     * Até {@code limit} cursos em ordem de relevância para {@code query} em título
+     * e categoria, sem diferenciar acentos e tolerando erros de digitação. Só os
+     * melhores são mantidos durante a busca e só eles são lidos do banco. Enquanto
+     * o índice não está pronto, devolve cursos cujo título contém a consulta, sem
+     * ordenação por relevância.
+     */
+    public List<CourseDTO> rankCourses(String query, int limit) {
+        if (limit < 1 || limit > MAX_RANKED_RESULTS) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_RANKED_RESULTS);
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.flush();
+            }
+            List<CourseDTO> results = searchIndex.rank(query, limit)
+                    .map(this::fetchInOrder)
+                    .orElseGet(() -> courseRepository.findByTituloContainingAfter(
+                            query, Long.MIN_VALUE, Limit.of(limit)));
+            searchResults.record(results.size());
+            return results;
+        } finally {
+            CatalogMetrics.record(rankTimer, start);
+        }
+    }
+
+    /**
+     * Até {@code k} títulos para autocompletar {@code prefix}: títulos com uma
+     * palavra começando pela última palavra digitada (sem diferenciar acentos),
+     * mais curtos primeiro. Servido da trie em memória; enquanto ela não está
+     * pronta, devolve títulos que contêm o prefixo.
+     */
+    public List<String> suggestTitles(String prefix, int k) {
+        if (k < 1 || k > SuggestionTrie.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("k deve estar entre 1 e " + SuggestionTrie.MAX_SUGGESTIONS);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            return searchIndex.suggest(prefix, k)
+                    .orElseGet(() -> courseRepository.findByTituloContainingAfter(prefix, Long.MIN_VALUE, Limit.of(k))
+                            .stream()
+                            .map(CourseDTO::getTitulo)
+                            .distinct()
+                            .toList());
+        } finally {
+            CatalogMetrics.record(suggestTimer, start);
+        }
+    }
+
+    public CoursePage findPage(String query, Long after, int limit) {
+        return findPage(query, null, after, limit);
+    }
+
+    /**
+     * Página de até {@code limit} cursos com ID maior que {@code after}. O custo
+     * não depende da profundidade: a posição é localizada pelo ID, sem OFFSET.
+     */
+    public CoursePage findPage(String query, CourseFilter filter, Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        long start = System.nanoTime();
+        try {
+            if (filter != null && filter.hasCriteria()) {
+                return toPage(courseRepository.findProjected(
+                        CourseSpecifications.matching(query, filter, after), limit + 1), limit);
+            }
+            return page(query, after == null ? Long.MIN_VALUE : after, limit);
+        } finally {
+            CatalogMetrics.record(pageTimer, start);
+        }
+    }
+
+    private CoursePage page(String query, long cursor, int limit) {
+        List<CourseDTO> rows;
+        if (query == null || query.isEmpty()) {
+            rows = courseRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(limit + 1));
+        } else {
+            rows = indexCandidates(query)
+                    .map(ids -> fetchMatching(ids, firstAfter(ids, cursor), query, limit + 1))
+                    .orElseGet(() -> courseRepository.findByTituloContainingAfter(query, cursor, Limit.of(limit + 1)));
+        }
+        return toPage(rows, limit);
+    }
+
+    private static CoursePage toPage(List<CourseDTO> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new CoursePage(rows, null);
+        }
+        List<CourseDTO> items = rows.subList(0, limit);
+        return new CoursePage(new ArrayList<>(items), items.get(limit - 1).getId());
+    }
+
+    /**
+     * Entrega todo o catálogo, em ordem de ID, ao {@code sink} à medida que as
+     * linhas são lidas. As linhas viram {@link CourseDTO} direto do ResultSet, então
+     * o contexto de persistência não cresce com o tamanho do catálogo.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllCourses(Consumer<CourseDTO> sink) {
+        long start = System.nanoTime();
+        try (Stream<CourseDTO> courses = courseRepository.streamAll()) {
+            courses.forEach(sink);
+        } finally {
+            CatalogMetrics.record(streamTimer, start);
+        }
+    }
+
+    public Optional<CourseDTO> findCourseById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return courseCache.findById(id, courseRepository::findProjectedById);
+        } finally {
+            CatalogMetrics.record(findByIdTimer, start);
+        }
+    }
+
+    private List<CourseDTO> loadSearch(String query) {
+        return indexCandidates(query)
+                .map(ids -> fetchMatching(ids, 0, query, Integer.MAX_VALUE))
+                .orElseGet(() -> courseRepository.findByTituloContaining(query));
+    }
+
+    /**
+     * O índice só enxerga linhas já enviadas ao banco; dentro de uma transação com
+     * escritas pendentes, elas são descarregadas antes da consulta ao índice.
+     */
+    private Optional<long[]> indexCandidates(String query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        return searchIndex.findCandidates(query);
+    }
+
+    private List<CourseDTO> fetchMatching(long[] candidateIds, int fromIndex, String query, int max) {
+        String needle = query.toUpperCase(Locale.ROOT);
+        List<CourseDTO> matches = new ArrayList<>();
+        int from = fromIndex;
+        while (from < candidateIds.length && matches.size() < max) {
+            int to = Math.min(from + Math.min(FETCH_CHUNK_SIZE, max - matches.size()), candidateIds.length);
+            List<Long> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(candidateIds[i]);
+            }
+            for (CourseDTO course : courseRepository.findProjectedByIdIn(chunk)) {
+                if (matches.size() < max && course.getTitulo() != null
+                        && course.getTitulo().toUpperCase(Locale.ROOT).contains(needle)) {
+                    matches.add(course);
+                }
+            }
+            from = to;
+        }
+        return matches;
+    }
+
+    /** Cursos com os ids dados, na mesma ordem; ids que não existem mais são omitidos. */
+    private List<CourseDTO> fetchInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, CourseDTO> byId = new HashMap<>(ids.length * 2);
+        for (CourseDTO course : courseRepository.findProjectedByIdIn(idList)) {
+            byId.put(course.getId(), course);
+        }
+        List<CourseDTO> ordered = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            CourseDTO course = byId.get(id);
+            if (course != null) {
+                ordered.add(course);
+            }
+        }
+        return ordered;
     }
 
-    public Optional<Course> findCourseById(Long id) {
-        return courseRepository.findById(id);
+    private static int firstAfter(long[] sortedIds, long after) {
+        int pos = Arrays.binarySearch(sortedIds, after);
+        return pos >= 0 ? pos + 1 : -pos - 1;
     }
-}
\ No newline at end of file
+}
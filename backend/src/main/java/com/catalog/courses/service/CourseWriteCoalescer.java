@@ -0,0 +1,203 @@
+package com.catalog.courses.service;
+
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Group commit das criações de curso: com {@code catalog.write.group-commit.enabled},
+ * chamadas concorrentes entram numa fila e uma única thread as grava juntas, numa
+ * transação e num lote JDBC, com até {@code max-batch} cursos ou o que chegar em
+ * {@code max-wait} depois do primeiro.
+ * <p>
+ * Quem espera na fila não segura conexão do pool. Cada chamador recebe o próprio
+ * curso salvo; se a transação do grupo falhar, cada escrita é refeita sozinha para
+ * que só a culpada receba o erro. Depois de {@code max-retry-failures} escritas
+ * refeitas que também falham, a falha é tida como do banco e não de um curso: as
+ * que faltam recebem o erro do grupo sem nova ida ao banco. Desligado, ou quando o
+ * chamador já está numa transação (à qual a escrita precisa pertencer), grava na
+ * hora, como antes.
+ */
+@Component
+@Slf4j
+public class CourseWriteCoalescer {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final int maxRetryFailures;
+    private final DistributionSummary groupSize;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    private volatile boolean running;
+
+    @Autowired
+    public CourseWriteCoalescer(PlatformTransactionManager transactionManager,
+                                @Value("${catalog.write.group-commit.enabled:false}") boolean enabled,
+                                @Value("${catalog.write.group-commit.max-batch:128}") int maxBatch,
+                                @Value("${catalog.write.group-commit.max-wait:200us}") Duration maxWait,
+                                @Value("${catalog.write.group-commit.max-retry-failures:3}") int maxRetryFailures,
+                                MeterRegistry meterRegistry) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("max-batch deve ser positivo: " + maxBatch);
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxRetryFailures = maxRetryFailures;
+        this.groupSize = DistributionSummary.builder("catalog.write.group.size")
+                .description("Cursos gravados por transação no group commit")
+                .register(meterRegistry);
+        this.running = enabled;
+        this.flusher = enabled ? Thread.ofVirtual().name("course-group-commit").start(this::flushLoop) : null;
+    }
+
+    /**
+     * Grava {@code course} aplicando {@code write} dentro de uma transação e
+     * devolve o resultado, esperando pelo commit do grupo quando habilitado.
+     */
+    public Course write(Course course, UnaryOperator<Course> write) {
+        if (!running || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> write.apply(course));
+        }
+        PendingWrite pendingWrite = new PendingWrite(course, write);
+        pending.add(pendingWrite);
+        if (!running && pending.remove(pendingWrite)) {
+            // O shutdown já esvaziou a fila ou está esvaziando; ninguém mais a lê
+            throw new IllegalStateException("Aplicação encerrando; curso não gravado");
+        }
+        try {
+            return pendingWrite.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o group commit; o curso ainda pode ser gravado", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher != null) {
+            running = false;
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+            List<PendingWrite> late = new ArrayList<>();
+            pending.drainTo(late);
+            late.forEach(pendingWrite -> pendingWrite.result.completeExceptionally(
+                    new IllegalStateException("Aplicação encerrando; curso não gravado")));
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> group = new ArrayList<>(maxBatch);
+        try {
+            while (running) {
+                group.add(pending.take());
+                collect(group);
+                flush(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Desligando: quem já está na fila ainda é gravado
+        pending.drainTo(group);
+        for (PendingWrite pendingWrite : group) {
+            writeAlone(pendingWrite);
+        }
+    }
+
+    /** Junta ao grupo o que já está na fila e o que chegar até {@code max-wait}. */
+    private void collect(List<PendingWrite> group) throws InterruptedException {
+        pending.drainTo(group, maxBatch - group.size());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (group.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            PendingWrite next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            pending.drainTo(group, maxBatch - group.size());
+        }
+    }
+
+    private void flush(List<PendingWrite> group) {
+        groupSize.record(group.size());
+        if (group.size() == 1) {
+            writeAlone(group.get(0));
+            return;
+        }
+        List<Course> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Course> results = new ArrayList<>(group.size());
+                for (PendingWrite pendingWrite : group) {
+                    results.add(pendingWrite.write.apply(pendingWrite.course));
+                }
+                return results;
+            });
+        } catch (RuntimeException | Error e) {
+            log.debug("Group commit de {} cursos falhou; gravando um a um", group.size(), e);
+            int failures = 0;
+            for (PendingWrite pendingWrite : group) {
+                pendingWrite.course.setId(pendingWrite.originalId);
+                if (failures >= maxRetryFailures) {
+                    pendingWrite.result.completeExceptionally(e);
+                } else if (!writeAlone(pendingWrite)) {
+                    failures++;
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result.complete(saved.get(i));
+        }
+    }
+
+    /** Grava a escrita na própria transação; {@code false} se ela falhou. */
+    private boolean writeAlone(PendingWrite pendingWrite) {
+        try {
+            pendingWrite.result.complete(transactionTemplate.execute(
+                    status -> pendingWrite.write.apply(pendingWrite.course)));
+            return true;
+        } catch (RuntimeException | Error e) {
+            pendingWrite.result.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    /** Escrita na fila; o id original é reposto se o grupo falhar e ela for refeita sozinha. */
+    private record PendingWrite(Course course, Long originalId, UnaryOperator<Course> write,
+                                CompletableFuture<Course> result) {
+
+        PendingWrite(Course course, UnaryOperator<Course> write) {
+            this(course, course.getId(), write, new CompletableFuture<>());
+        }
+    }
+}
@@ -1,24 +1,32 @@
 -- Dados iniciais para a tabela de cursos
--- Este arquivo é executado automaticamente pelo Spring Boot na inicialização
+-- Este arquivo é executado automaticamente pelo Spring Boot na inicialização.
+-- Só insere com a tabela vazia, para que o perfil "persistent" possa rodá-lo a
+-- cada subida sem duplicar nem reescrever o catálogo salvo em disco.
 
-INSERT INTO course (titulo, categoria, carga_horaria) VALUES 
-('Introdução ao Java', 'Programação', 40),
-('Spring Boot Fundamentals', 'Frameworks', 60),
-('Angular para Iniciantes', 'Frontend', 45),
-('Banco de Dados com PostgreSQL', 'Banco de Dados', 35),
-('Docker e Containerização', 'DevOps', 30),
-('Microserviços com Spring Cloud', 'Arquitetura', 80),
-('React.js Avançado', 'Frontend', 55),
-('Python para Data Science', 'Data Science', 70),
-('Kubernetes Essentials', 'DevOps', 50),
-('Machine Learning com TensorFlow', 'Inteligência Artificial', 90),
-('Vue.js do Zero ao Avançado', 'Frontend', 65),
-('Node.js e Express', 'Backend', 45),
-('MongoDB NoSQL', 'Banco de Dados', 40),
-('Git e GitHub', 'Ferramentas', 25),
-('Testes Automatizados com JUnit', 'Qualidade', 35),
-('CSS Grid e Flexbox', 'Frontend', 30),
-('API REST com Spring Boot', 'Backend', 50),
-('Segurança em Aplicações Web', 'Segurança', 60),
-('Clean Code e Boas Práticas', 'Desenvolvimento', 40),
-('Scrum e Metodologias Ágeis', 'Gestão', 20);
\ No newline at end of file
+INSERT INTO course (id, titulo, categoria, carga_horaria)
+SELECT * FROM (VALUES
+(1, 'Introdução ao Java', 'Programação', 40),
+(2, 'Spring Boot Fundamentals', 'Frameworks', 60),
+(3, 'Angular para Iniciantes', 'Frontend', 45),
+(4, 'Banco de Dados com PostgreSQL', 'Banco de Dados', 35),
+(5, 'Docker e Containerização', 'DevOps', 30),
+(6, 'Microserviços com Spring Cloud', 'Arquitetura', 80),
+(7, 'React.js Avançado', 'Frontend', 55),
+(8, 'Python para Data Science', 'Data Science', 70),
+(9, 'Kubernetes Essentials', 'DevOps', 50),
+(10, 'Machine Learning com TensorFlow', 'Inteligência Artificial', 90),
+(11, 'Vue.js do Zero ao Avançado', 'Frontend', 65),
+(12, 'Node.js e Express', 'Backend', 45),
+(13, 'MongoDB NoSQL', 'Banco de Dados', 40),
+(14, 'Git e GitHub', 'Ferramentas', 25),
+(15, 'Testes Automatizados com JUnit', 'Qualidade', 35),
+(16, 'CSS Grid e Flexbox', 'Frontend', 30),
+(17, 'API REST com Spring Boot', 'Backend', 50),
+(18, 'Segurança em Aplicações Web', 'Segurança', 60),
+(19, 'Clean Code e Boas Práticas', 'Desenvolvimento', 40),
+(20, 'Scrum e Metodologias Ágeis', 'Gestão', 20)
+) AS seed (id, titulo, categoria, carga_horaria)
+WHERE NOT EXISTS (SELECT 1 FROM course);
+
+-- Os IDs seguintes vêm da sequência (otimizador pooled-lo, blocos de 50)
+ALTER SEQUENCE course_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM course);
@@ -0,0 +1,109 @@
+package com.catalog.courses.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveLimitTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_ShouldRejectBeyondLimitUntilReleased() {
+        // Arrange
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, TARGET, 0.5);
+
+        // Act & Assert
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldGrowAboutOnePerWindowWhileBusyAndFast() {
+        // Arrange
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 5, TARGET, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+        }
+
+        // Act - respostas rápidas com o limite todo ocupado
+        for (int i = 0; i < 3; i++) {
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            limit.tryAcquire();
+        }
+        int afterThree = limit.getLimit();
+        for (int i = 0; i < 10; i++) {
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            limit.tryAcquire();
+        }
+
+        // Assert
+        assertThat(afterThree).isEqualTo(4);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void release_ShouldNotGrowWhenMostlyIdle() {
+        // Arrange
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 64, TARGET, 0.5);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void release_ShouldBackOffOncePerTargetOnSlowOrFailedResponses() {
+        // Arrange
+        AdaptiveLimit limit = new AdaptiveLimit(8, 3, 8, TARGET, 0.5);
+
+        // Act - uma rajada de respostas lentas conta como uma só queda
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limit.release(TimeUnit.MILLISECONDS.toNanos(500), i == 0);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(4);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_ShouldNeverGoBelowMinimum() throws InterruptedException {
+        // Arrange
+        AdaptiveLimit limit = new AdaptiveLimit(4, 3, 8, TimeUnit.MILLISECONDS.toNanos(1), 0.5);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            limit.tryAcquire();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(50), true);
+            Thread.sleep(2);
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void constructor_ShouldRejectInconsistentBounds() {
+        assertThatThrownBy(() -> new AdaptiveLimit(20, 1, 10, TARGET, 0.9))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimit(5, 1, 10, TARGET, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.catalog.courses.admission;
+
+import com.catalog.courses.admission.AdmissionControlFilter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("catalog.admission.search.initial-limit", "1")
+                .withProperty("catalog.admission.search.max-limit", "1");
+        filter = new AdmissionControlFilter(environment, Duration.ofSeconds(2), 0.9, meterRegistry);
+    }
+
+    @Test
+    void classify_ShouldSeparateLookupsSearchesAndWrites() {
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/courses/42")))
+                .isEqualTo(EndpointClass.LOOKUP);
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/courses/facets")))
+                .isEqualTo(EndpointClass.LOOKUP);
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/courses/suggest")))
+                .isEqualTo(EndpointClass.LOOKUP);
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/courses")))
+                .isEqualTo(EndpointClass.SEARCH);
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/courses/search")))
+                .isEqualTo(EndpointClass.SEARCH);
+        assertThat(AdmissionControlFilter.classify(ndjson("/courses")))
+                .isEqualTo(EndpointClass.STREAM);
+        assertThat(AdmissionControlFilter.classify(ndjson("/courses/search")))
+                .isEqualTo(EndpointClass.SEARCH);
+        assertThat(AdmissionControlFilter.classify(new MockHttpServletRequest("POST", "/courses/batch")))
+                .isEqualTo(EndpointClass.WRITE);
+    }
+
+    @Test
+    void doFilter_ShouldRejectSearchWithRetryAfterWhileLookupsStillPass() throws Exception {
+        // Arrange - a única vaga de busca está ocupada
+        filter.limit(EndpointClass.SEARCH).tryAcquire();
+        MockHttpServletResponse searchResponse = new MockHttpServletResponse();
+        MockFilterChain searchChain = new MockFilterChain();
+        MockHttpServletResponse lookupResponse = new MockHttpServletResponse();
+        MockFilterChain lookupChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/courses"), searchResponse, searchChain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/courses/1"), lookupResponse, lookupChain);
+
+        // Assert
+        assertThat(searchResponse.getStatus()).isEqualTo(503);
+        assertThat(searchResponse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(searchChain.getRequest()).isNull();
+        assertThat(lookupResponse.getStatus()).isEqualTo(200);
+        assertThat(lookupChain.getRequest()).isNotNull();
+        assertThat(meterRegistry.get("catalog.admission.rejected").tag("class", "search").counter().count())
+                .isEqualTo(1);
+        assertThat(filter.limit(EndpointClass.LOOKUP).getInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_ShouldHoldTheSlotUntilAsyncResponseCompletes() throws Exception {
+        // Arrange - o controller devolve um stream, processado depois que a cadeia retorna
+        MockHttpServletRequest request = ndjson("/courses");
+        request.setAsyncSupported(true);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            public void service(ServletRequest req, ServletResponse res) {
+                req.startAsync(req, res);
+            }
+        });
+        AdaptiveLimit stream = filter.limit(EndpointClass.STREAM);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert - a única vaga de exportação segue ocupada pelo stream; a de busca, livre
+        assertThat(stream.getInFlight()).isEqualTo(1);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(ndjson("/courses"), rejected, new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        MockHttpServletResponse listing = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/courses"), listing, new MockFilterChain());
+        assertThat(listing.getStatus()).isEqualTo(200);
+
+        // Act & Assert - concluído o stream, a vaga volta uma vez só
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.complete();
+        asyncContext.complete();
+        assertThat(stream.getInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreOtherPaths() throws Exception {
+        // Arrange
+        filter.limit(EndpointClass.SEARCH).tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/events"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest ndjson(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+        return request;
+    }
+}
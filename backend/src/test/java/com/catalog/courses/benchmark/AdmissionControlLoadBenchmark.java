@@ -0,0 +1,195 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.CoursesApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sobrecarga de 5x em {@code /courses} com e sem controle de admissão: metade
+ * buscas por título com filtro de carga horária (vão ao banco e varrem a tabela),
+ * metade {@code GET /courses/{id}} com o cache desligado.
+ * Primeiro mede a vazão sustentável em laço fechado; depois dispara requisições em
+ * laço aberto a 5x essa taxa e reporta p50/p99 das respostas 200 por classe,
+ * recusas (503) e demais erros.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=AdmissionControlLoadBenchmark -Dbenchmark.rows=200000 -Dbenchmark.seconds=20}
+ */
+class AdmissionControlLoadBenchmark {
+
+    private static final int MAX_SAMPLES = 2_000_000;
+    private static final int BATCH = 5_000;
+
+    @Test
+    void compareOverloadWithAndWithoutAdmissionControl() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 200_000);
+        int seconds = Integer.getInteger("benchmark.seconds", 20);
+        int overload = Integer.getInteger("benchmark.overload", 5);
+
+        double capacity;
+        try (ConfigurableApplicationContext app = start(rows, false)) {
+            capacity = measureCapacity(baseUri(app), rows, Duration.ofSeconds(Math.max(5, seconds / 2)));
+        }
+        double rate = capacity * overload;
+        System.out.printf("%n== %,d cursos; capacidade %.0f req/s; carga aberta de %.0f req/s (%dx) por %d s ==%n",
+                rows, capacity, rate, overload, seconds);
+        System.out.printf("%-10s %-7s %9s %9s %9s %9s %9s %8s%n",
+                "admissão", "classe", "200", "p50 (ms)", "p99 (ms)", "max (ms)", "503", "erros");
+        for (boolean admission : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = start(rows, admission)) {
+                overload(admission ? "ligada" : "desligada", baseUri(app), rows, rate, Duration.ofSeconds(seconds));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(int rows, boolean admission) {
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(CoursesApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:admission-" + admission,
+                        "--catalog.admission.enabled=" + admission,
+                        "--catalog.cache.enabled=false",
+                        "--logging.level.com.catalog.courses=WARN");
+        seed(app.getBean(JdbcTemplate.class), rows);
+        return app;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.execute("DELETE FROM course");
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{(long) i, "Curso " + i + " de Java", "Categoria " + (i % 20), 10 + i % 90});
+            if (batch.size() == BATCH || i == rows) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO course (id, titulo, categoria, carga_horaria) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE course_seq RESTART WITH " + (rows + 1));
+    }
+
+    private static String baseUri(ConfigurableApplicationContext app) {
+        return "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+    }
+
+    /** Vazão em laço fechado com poucos clientes, sem controle de admissão. */
+    private static double measureCapacity(String base, int rows, Duration duration) throws Exception {
+        HttpClient http = client();
+        AtomicInteger done = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < 8; c++) {
+                int client = c;
+                pool.submit(() -> {
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        http.send(request(base, rows, (client + i) % 2 == 0), HttpResponse.BodyHandlers.discarding());
+                        done.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        return done.get() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void overload(String mode, String base, int rows, double rate, Duration duration) throws Exception {
+        HttpClient http = client();
+        Stats searches = new Stats();
+        Stats lookups = new Stats();
+        long intervalNanos = (long) (1e9 / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long next = start, i = 0; next < end; next += intervalNanos, i++) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            boolean search = i % 2 == 0;
+            Stats stats = search ? searches : lookups;
+            long t0 = System.nanoTime();
+            inFlight.add(http.sendAsync(request(base, rows, search), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        stats.record(response == null ? -1 : response.statusCode(), System.nanoTime() - t0);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        searches.print(mode, "busca");
+        lookups.print(mode, "por id");
+    }
+
+    private static HttpRequest request(String base, int rows, boolean search) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = search
+                ? "/courses?minHoras=10&q=Curso%20" + (1 + random.nextInt(999)) + "1"
+                : "/courses/" + (1 + random.nextInt(rows));
+        return HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpClient client() {
+        return HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    private static final class Stats {
+
+        private final AtomicLongArray latencies = new AtomicLongArray(MAX_SAMPLES);
+        private final AtomicInteger ok = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+
+        void record(int status, long nanos) {
+            if (status == 200) {
+                int i = ok.getAndIncrement();
+                if (i < MAX_SAMPLES) {
+                    latencies.set(i, nanos);
+                }
+            } else if (status == 503) {
+                rejected.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        void print(String mode, String endpointClass) {
+            int n = Math.min(ok.get(), MAX_SAMPLES);
+            long[] samples = new long[n];
+            for (int i = 0; i < n; i++) {
+                samples[i] = latencies.get(i);
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-10s %-7s %9d %9.1f %9.1f %9.1f %9d %8d%n", mode, endpointClass, ok.get(),
+                    percentile(samples, 0.50), percentile(samples, 0.99), n == 0 ? 0 : samples[n - 1] / 1e6,
+                    rejected.get(), errors.get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
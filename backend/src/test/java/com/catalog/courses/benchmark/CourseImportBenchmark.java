@@ -0,0 +1,69 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseImportService;
+import com.catalog.courses.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara a vazão de {@code createCourse} (um INSERT e um commit por curso) com a
+ * importação em lote.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=CourseImportBenchmark -Dbenchmark.rows=20000}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseImportBenchmark {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareSingleInsertWithBatchImport() {
+        int rows = Integer.getInteger("benchmark.rows", 20_000);
+
+        // Aquecimento de ambos os caminhos
+        insertOneByOne(courses(1_000));
+        importService.importCourses(courses(1_000).iterator());
+
+        jdbcTemplate.execute("DELETE FROM course");
+        long start = System.nanoTime();
+        insertOneByOne(courses(rows));
+        double single = rows / ((System.nanoTime() - start) / 1e9);
+
+        jdbcTemplate.execute("DELETE FROM course");
+        start = System.nanoTime();
+        importService.importCourses(courses(rows).iterator());
+        double batch = rows / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%n== %,d cursos ==%n", rows);
+        System.out.printf("POST único (createCourse): %,10.0f cursos/s%n", single);
+        System.out.printf("Importação em lote:        %,10.0f cursos/s (%.1fx)%n", batch, batch / single);
+    }
+
+    private void insertOneByOne(List<Course> courses) {
+        courses.forEach(courseService::createCourse);
+    }
+
+    private static List<Course> courses(int rows) {
+        List<Course> courses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            courses.add(new Course(null, "Curso de benchmark " + i, "Categoria " + (i % 20), 10 + i % 90));
+        }
+        return courses;
+    }
+}
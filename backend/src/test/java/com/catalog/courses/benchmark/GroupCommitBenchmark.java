@@ -0,0 +1,124 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.CoursesApplication;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vazão de {@code createCourse} com N escritores concorrentes (1 a 512), com o
+ * caminho atual (uma transação e um commit por curso) e com group commit. Cada
+ * escritor é uma thread de plataforma que cria cursos em laço fechado; reporta
+ * cursos/s, erros e o tamanho médio dos grupos. A listagem pré-serializada fica
+ * desligada: refeita a cada criação sobre a tabela que cresce, ela dominaria a CPU.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=GroupCommitBenchmark -Dbenchmark.seconds=3}
+ * <p>
+ * Para um banco em arquivo, passe {@code -Dbenchmark.url=jdbc:h2:file:./target/group-commit}.
+ */
+class GroupCommitBenchmark {
+
+    private static final int[] WRITERS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512};
+
+    @Test
+    void compareDirectAndGroupCommitThroughput() throws Exception {
+        int seconds = Integer.getInteger("benchmark.seconds", 3);
+        int warmup = Integer.getInteger("benchmark.warmup", 10);
+        String url = System.getProperty("benchmark.url", "jdbc:h2:mem:group-commit");
+
+        double[][] results = new double[2][WRITERS.length];
+        int[][] errors = new int[2][WRITERS.length];
+        double[] groupSizes = new double[WRITERS.length];
+        try (ConfigurableApplicationContext direct = start(url + "-off", false);
+             ConfigurableApplicationContext grouped = start(url + "-on", true)) {
+            CourseService[] services = {direct.getBean(CourseService.class), grouped.getBean(CourseService.class)};
+            DistributionSummary groupSize = grouped.getBean(MeterRegistry.class)
+                    .get("catalog.write.group.size").summary();
+            // Aquecimento do JIT nos dois caminhos, com poucos e com muitos escritores
+            for (CourseService courseService : services) {
+                run(courseService, 1, Duration.ofSeconds(warmup / 2), new AtomicInteger());
+                run(courseService, 64, Duration.ofSeconds(warmup - warmup / 2), new AtomicInteger());
+            }
+            // Os dois modos se alternam em cada ponto, para que nenhum leve vantagem da ordem
+            for (int i = 0; i < WRITERS.length; i++) {
+                for (int k = 0; k < 2; k++) {
+                    int mode = (i + k) % 2;
+                    long groupsBefore = groupSize.count();
+                    double coursesBefore = groupSize.totalAmount();
+                    AtomicInteger failed = new AtomicInteger();
+                    results[mode][i] = run(services[mode], WRITERS[i], Duration.ofSeconds(seconds), failed);
+                    errors[mode][i] = failed.get();
+                    if (mode == 1) {
+                        long groups = groupSize.count() - groupsBefore;
+                        groupSizes[i] = groups == 0 ? 0 : (groupSize.totalAmount() - coursesBefore) / groups;
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%n== createCourse em %s, %d s por ponto ==%n", url, seconds);
+        System.out.printf("%-11s %14s %14s %8s %14s %8s%n",
+                "escritores", "atual (c/s)", "grupo (c/s)", "ganho", "grupo médio", "erros");
+        for (int i = 0; i < WRITERS.length; i++) {
+            System.out.printf("%-11d %,14.0f %,14.0f %7.1fx %14.1f %8s%n", WRITERS[i], results[0][i], results[1][i],
+                    results[1][i] / results[0][i], groupSizes[i], errors[0][i] + "/" + errors[1][i]);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String url, boolean groupCommit) {
+        return new SpringApplicationBuilder(CoursesApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--catalog.write.group-commit.enabled=" + groupCommit,
+                        "--catalog.cache.enabled=false",
+                        "--catalog.listing.pre-encoded=false",
+                        "--logging.level.com.catalog.courses=WARN");
+    }
+
+    /** Cursos criados por segundo com {@code writers} threads em laço fechado. */
+    private static double run(CourseService courseService, int writers, Duration duration, AtomicInteger failed)
+            throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        List<Thread> threads = new ArrayList<>(writers);
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(Thread.ofPlatform().name("writer-" + w).start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; System.nanoTime() < deadline[0]; i++) {
+                    try {
+                        courseService.createCourse(
+                                new Course(null, "Curso " + writer + "-" + i, "Categoria " + (i % 20), 10 + i % 90));
+                        created.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + duration.toNanos();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return created.get() / ((System.nanoTime() - begin) / 1e9);
+    }
+}
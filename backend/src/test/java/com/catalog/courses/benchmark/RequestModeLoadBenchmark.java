@@ -0,0 +1,112 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.CoursesApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Carga local em {@code GET /courses} com threads de plataforma e com threads
+ * virtuais, comparando p50/p99 e vazão.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=RequestModeLoadBenchmark -Dbenchmark.clients=400 -Dbenchmark.seconds=20}
+ */
+class RequestModeLoadBenchmark {
+
+    private static final int MAX_SAMPLES = 2_000_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 400);
+        int seconds = Integer.getInteger("benchmark.seconds", 20);
+        int platformThreads = Integer.getInteger("benchmark.platformThreads", 200);
+
+        System.out.printf("%n== GET /courses, %d clientes, %d s por modo ==%n", clients, seconds);
+        System.out.printf("%-12s %10s %10s %10s %12s %8s%n", "modo", "p50 (ms)", "p99 (ms)", "max (ms)", "req/s", "erros");
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(CoursesApplication.class)
+                    .profiles(virtual ? new String[]{"test", "virtual"} : new String[]{"test"})
+                    .run("--server.port=0",
+                            "--server.tomcat.threads.max=" + platformThreads,
+                            "--spring.datasource.url=jdbc:h2:mem:load-" + virtual,
+                            "--catalog.admission.enabled=false",
+                            "--logging.level.com.catalog.courses=WARN")) {
+                int port = Integer.parseInt(app.getEnvironment().getProperty("local.server.port"));
+                run(virtual ? "virtual" : "plataforma", URI.create("http://localhost:" + port + "/courses"),
+                        clients, Duration.ofSeconds(seconds));
+            }
+        }
+    }
+
+    private static void run(String mode, URI uri, int clients, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        // Aquecimento
+        for (int i = 0; i < 500; i++) {
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        AtomicLongArray latencies = new AtomicLongArray(MAX_SAMPLES);
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        int i = count.getAndIncrement();
+                        if (i < MAX_SAMPLES) {
+                            latencies.set(i, System.nanoTime() - t0);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        int n = Math.min(count.get(), MAX_SAMPLES);
+        long[] samples = new long[n];
+        for (int i = 0; i < n; i++) {
+            samples[i] = latencies.get(i);
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-12s %10.2f %10.2f %10.2f %12.0f %8d%n", mode,
+                percentile(samples, 0.50), percentile(samples, 0.99),
+                n == 0 ? 0 : samples[n - 1] / 1e6, count.get() / elapsed, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,104 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.CoursesApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tempo até a primeira resposta ({@code GET /courses/1} e uma busca por título)
+ * com um catálogo de N cursos: no modo em memória os cursos precisam ser
+ * recarregados a cada subida; no perfil "persistent" eles já estão no arquivo.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=StartupTimeBenchmark -Dbenchmark.rows=1000000}
+ */
+class StartupTimeBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void compareInMemoryReloadAndPersistentRestart() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        int restarts = Integer.getInteger("benchmark.restarts", 3);
+        String path = "--catalog.persistence.path=" + dataDir.resolve("catalog");
+
+        try (ConfigurableApplicationContext app = start(new String[]{"test", "persistent"}, path)) {
+            seed(app.getBean(JdbcTemplate.class), rows);
+        }
+
+        System.out.printf("%n== Tempo até a primeira resposta, %,d cursos ==%n", rows);
+        System.out.printf("%-28s %12s %12s%n", "modo", "subida (ms)", "total (ms)");
+        for (int i = 0; i < restarts; i++) {
+            long t0 = System.nanoTime();
+            try (ConfigurableApplicationContext app = start(new String[]{"test"},
+                    "--spring.datasource.url=jdbc:h2:mem:startup-" + i)) {
+                long booted = System.nanoTime();
+                seed(app.getBean(JdbcTemplate.class), rows);
+                firstRequests(app);
+                print("memória + recarga", t0, booted);
+            }
+        }
+        for (int i = 0; i < restarts; i++) {
+            long t0 = System.nanoTime();
+            try (ConfigurableApplicationContext app = start(new String[]{"test", "persistent"}, path)) {
+                long booted = System.nanoTime();
+                firstRequests(app);
+                print("persistent (reinício)", t0, booted);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] profiles, String... args) {
+        String[] all = new String[args.length + 2];
+        all[0] = "--server.port=0";
+        all[1] = "--logging.level.com.catalog.courses=WARN";
+        System.arraycopy(args, 0, all, 2, args.length);
+        return new SpringApplicationBuilder(CoursesApplication.class).profiles(profiles).run(all);
+    }
+
+    /** Substitui o catálogo por {@code rows} cursos sintéticos, via JDBC em lotes. */
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.execute("DELETE FROM course");
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{(long) i, "Curso " + i + " de Java", "Categoria " + (i % 20), 10 + i % 90});
+            if (batch.size() == BATCH || i == rows) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO course (id, titulo, categoria, carga_horaria) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE course_seq RESTART WITH " + (rows + 1));
+    }
+
+    private static void firstRequests(ConfigurableApplicationContext app) throws Exception {
+        String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        HttpClient http = HttpClient.newHttpClient();
+        for (String uri : new String[]{base + "/courses/1", base + "/courses?q=Curso%20999&limit=20"}) {
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(uri + " respondeu " + response.statusCode());
+            }
+        }
+    }
+
+    private static void print(String mode, long t0, long booted) {
+        long now = System.nanoTime();
+        System.out.printf("%-28s %12d %12d%n", mode, (booted - t0) / 1_000_000, (now - t0) / 1_000_000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.catalog.courses.benchmark;
+
+import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.search.CourseSearchIndex;
+import com.catalog.courses.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compara a busca por título via LIKE com a busca pelo índice de trigramas.
+ * <p>
+ * Fora da suíte padrão; execute com:
+ * {@code ./mvnw test -Dtest=TrigramSearchBenchmark -Dbenchmark.sizes=10000,1000000,5000000}
+ * (catálogos grandes precisam de heap maior, ex.: {@code -DargLine=-Xmx8g}).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TrigramSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "Java", "Spring", "Boot", "Angular", "React", "Python", "Docker", "Kubernetes", "Cloud",
+            "Dados", "Segurança", "Testes", "Arquitetura", "Microserviços", "Fundamentos", "Avançado",
+            "Introdução", "Prático", "Completo", "DevOps", "Redes", "Algoritmos", "Estruturas", "Web"
+    };
+    private static final String[] QUERIES = {"Java", "ernetes", "Microserviços Avan", "Inexistente"};
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    @Test
+    void compareLikeScanWithTrigramIndex() {
+        String sizes = System.getProperty("benchmark.sizes", "10000,1000000,5000000");
+        for (String size : sizes.split(",")) {
+            int rows = Integer.parseInt(size.trim());
+            load(rows);
+            System.out.printf("%n== %,d cursos ==%n", rows);
+            System.out.printf("%-20s %12s %12s %10s%n", "consulta", "LIKE (ms)", "índice (ms)", "hits");
+            for (String query : QUERIES) {
+                double like = medianMillis(() -> courseRepository.findByTituloContaining(query));
+                double indexed = medianMillis(() -> courseService.searchCourses(query));
+                int hits = courseService.searchCourses(query).size();
+                System.out.printf("%-20s %12.2f %12.2f %10d%n", query, like, indexed, hits);
+            }
+        }
+    }
+
+    private void load(int rows) {
+        jdbcTemplate.execute("DELETE FROM course");
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < rows; i++) {
+            String titulo = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            batch.add(new Object[]{i + 1, titulo, "Categoria " + random.nextInt(20), 10 + random.nextInt(90)});
+            if (batch.size() == 10_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO course (id, titulo, categoria, carga_horaria) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE course_seq RESTART WITH " + (rows + 1));
+        searchIndex.build();
+    }
+
+    private static double medianMillis(Supplier<?> task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.get();
+        }
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
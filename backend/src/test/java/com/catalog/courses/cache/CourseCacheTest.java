@@ -0,0 +1,165 @@
+package com.catalog.courses.cache;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class CourseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CourseCache cache = new CourseCache(true, 100, 100, Duration.ofMinutes(1), meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void search_ShouldLoadOnceAndServeRepeatedQueriesFromCache() {
+        // Act
+        cache.search("Java", this::load);
+        List<CourseDTO> second = cache.search("Java", this::load);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).extracting(CourseDTO::getTitulo).containsExactly("Java");
+        assertThat(cache.searchStats().getHits()).isEqualTo(1);
+        assertThat(cache.searchStats().getMisses()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "courses.search").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_ShouldEvictOnlySearchesMatchingTheNewTitleAndItsId() {
+        // Arrange
+        cache.search("java", this::load);
+        cache.search("Python", this::load);
+        cache.findById(7L, id -> Optional.empty());
+        cache.findById(8L, id -> Optional.empty());
+
+        // Act
+        cache.invalidateAfterCommit(List.of(new Course(7L, "Java Avançado", "Backend", 40)));
+
+        // Assert
+        cache.search("java", this::load);
+        cache.search("Python", this::load);
+        assertThat(loads.get()).isEqualTo(3);
+        AtomicInteger idLoads = new AtomicInteger();
+        cache.findById(7L, id -> { idLoads.incrementAndGet(); return Optional.empty(); });
+        cache.findById(8L, id -> { idLoads.incrementAndGet(); return Optional.empty(); });
+        assertThat(idLoads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_ShouldEvictEverySearchMatchingAnImportedTitle() {
+        // Arrange
+        cache.search("Java", this::load);
+        cache.search("Go", this::load);
+        cache.search("SQL", this::load);
+
+        // Act
+        cache.invalidateAfterCommit(List.of(
+                new Course(1L, "Java", "Backend", 10), new Course(2L, "Go", "Backend", 10)));
+
+        // Assert
+        cache.search("Java", this::load);
+        cache.search("Go", this::load);
+        cache.search("SQL", this::load);
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    void invalidateAfterCommit_ShouldEvictBeforeTheCatalogVersionMoves() {
+        // Arrange
+        CatalogVersion catalogVersion = new CatalogVersion();
+        cache.search("Java", this::load);
+        List<List<CourseDTO>> seenAtBump = new ArrayList<>();
+        catalogVersion.onBump(version -> seenAtBump.add(cache.search("Java", this::load)));
+
+        // Act: mesma ordem de CourseService, numa transação que confirma
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit(List.of(new Course(1L, "Java 21", "Backend", 10)));
+            catalogVersion.bumpAfterCommit();
+            assertThat(loads.get()).isEqualTo(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert: quem já vê a versão nova não recebe o resultado antigo do cache
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(seenAtBump).singleElement().satisfies(courses ->
+                assertThat(courses).extracting(CourseDTO::getId).containsExactly(2L));
+    }
+
+    @Test
+    void search_ShouldNotCacheResultLoadedAcrossAnInvalidation() {
+        // Act: o curso é criado enquanto a busca ainda está carregando
+        cache.search("Java", query -> {
+            cache.invalidateAfterCommit(List.of(new Course(1L, "Java", "Backend", 10)));
+            return load(query);
+        });
+        cache.search("Java", this::load);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void search_ShouldHandOutCopiesSoCallersCannotChangeTheCachedResult() {
+        // Arrange
+        cache.search("Java", this::load).get(0).setTitulo("alterado pelo chamador");
+
+        // Act
+        List<CourseDTO> hit = cache.search("Java", this::load);
+        hit.get(0).setTitulo("alterado de novo");
+
+        // Assert
+        assertThat(cache.search("Java", this::load)).extracting(CourseDTO::getTitulo).containsExactly("Java");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void search_ShouldBoundEntriesByTheNumberOfCachedCourses() {
+        // Arrange: limite de 10 cursos; um resultado com 20 não cabe
+        CourseCache small = new CourseCache(true, 100, 10, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        List<CourseDTO> large = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> new CourseDTO((long) i, "Java " + i, "Backend", 10))
+                .toList();
+
+        // Act
+        small.search("Java", query -> large);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> small.searchStats().getEvictions() == 1);
+        assertThat(small.searchStats().getSize()).isZero();
+    }
+
+    @Test
+    void disabledCache_ShouldAlwaysLoad() {
+        // Arrange
+        CourseCache disabled = new CourseCache(false, 100, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        // Act
+        disabled.search("Java", this::load);
+        disabled.search("Java", this::load);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private List<CourseDTO> load(String query) {
+        loads.incrementAndGet();
+        return List.of(new CourseDTO((long) loads.get(), query, "Backend", 10));
+    }
+}
@@ -0,0 +1,110 @@
+package com.catalog.courses.cache;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseListingBytesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CourseService courseService = mock(CourseService.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final CourseListingBytes listing = new CourseListingBytes(true, courseService, catalogVersion, objectMapper);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        listing.shutdown();
+    }
+
+    @Test
+    void current_ShouldBuildInBackgroundAndReuseBytesWhileVersionIsUnchanged() throws Exception {
+        // Arrange
+        List<CourseDTO> courses = List.of(new CourseDTO(1L, "Java", "Backend", 40));
+        when(courseService.getAllCourses()).thenReturn(courses);
+
+        // Act: a primeira chamada não espera pela serialização
+        assertThat(listing.current()).isNull();
+        CourseListingBytes.Encoded first = await().until(listing::current, Objects::nonNull);
+        CourseListingBytes.Encoded second = listing.current();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStamp()).isEqualTo(catalogVersion.current());
+        assertThat(first.getIdentity()).isEqualTo(objectMapper.writeValueAsBytes(courses));
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(first.getGzip()))) {
+            assertThat(gunzip.readAllBytes()).isEqualTo(first.getIdentity());
+        }
+        verify(courseService, times(1)).getAllCourses();
+    }
+
+    @Test
+    void current_ShouldServePreviousSnapshotWhileRebuildingAfterVersionBump() throws Exception {
+        // Arrange
+        when(courseService.getAllCourses()).thenReturn(List.of(new CourseDTO(1L, "Java", "Backend", 40)));
+        CourseListingBytes.Encoded before = listing.rebuild();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(courseService.getAllCourses()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return List.of(new CourseDTO(1L, "Java", "Backend", 40), new CourseDTO(2L, "Go", "Backend", 20));
+        });
+
+        // Act
+        catalogVersion.bumpAfterCommit();
+        CourseListingBytes.Encoded during = listing.current();
+        reading.await(5, TimeUnit.SECONDS);
+        CourseListingBytes.Encoded stillDuring = listing.current();
+        release.countDown();
+
+        // Assert: o snapshot anterior segue com o seu próprio stamp até a troca
+        assertThat(during).isSameAs(before);
+        assertThat(stillDuring).isSameAs(before);
+        CourseListingBytes.Encoded after = await().until(listing::current, encoded -> encoded != before);
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getStamp().getEtag()).isEqualTo(catalogVersion.current().getEtag());
+        assertThat(new String(after.getIdentity())).contains("\"Go\"");
+        verify(courseService, times(2)).getAllCourses();
+    }
+
+    @Test
+    void courseCreated_ShouldRebuildInBackground() {
+        // Arrange
+        when(courseService.getAllCourses()).thenReturn(List.of());
+        listing.rebuild();
+
+        // Act
+        catalogVersion.bumpAfterCommit();
+        listing.handleCourseCreatedEvent(new CourseCreatedEvent(this, new Course(1L, "Java", "Backend", 40)));
+
+        // Assert
+        await().untilAsserted(() -> verify(courseService, times(2)).getAllCourses());
+        await().until(() -> listing.current().getVersion() == catalogVersion.current().getVersion());
+        verify(courseService, times(2)).getAllCourses();
+    }
+
+    @Test
+    void disabledListing_ShouldReturnNull() {
+        CourseListingBytes disabled = new CourseListingBytes(false, courseService, catalogVersion, objectMapper);
+
+        assertThat(disabled.current()).isNull();
+    }
+}
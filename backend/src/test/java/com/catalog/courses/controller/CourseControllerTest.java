@@ -1,30 +1,55 @@
 package com.catalog.courses.controller;
 
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseListingBytes;
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.dto.CourseFilter;
+import com.catalog.courses.dto.CoursePage;
+import com.catalog.courses.facets.CourseFacets;
+import com.catalog.courses.idempotency.IdempotencyStore;
 import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseImportService;
 import com.catalog.courses.service.CourseService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CourseController.class)
+@Import({SimpleMeterRegistry.class, CatalogVersion.class, IdempotencyStore.class})
 class CourseControllerTest {
 
     @Autowired
@@ -33,16 +58,30 @@ class CourseControllerTest {
     @MockBean
     private CourseService courseService;
 
+    @MockBean
+    private CourseImportService importService;
+
+    @MockBean
+    private CourseFacets courseFacets;
+
+    @MockBean
+    private CourseListingBytes listingBytes;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     private Course sampleCourse;
     private Course savedCourse;
+    private CourseDTO savedDto;
 
     @BeforeEach
     void setUp() {
         sampleCourse = new Course(null, "Java Fundamentals", "Programação", 40);
         savedCourse = new Course(1L, "Java Fundamentals", "Programação", 40);
+        savedDto = new CourseDTO(1L, "Java Fundamentals", "Programação", 40);
     }
 
     @Test
@@ -62,6 +101,49 @@ class CourseControllerTest {
                 .andExpect(jsonPath("$.cargaHoraria", is(40)));
     }
 
+    @Test
+    void createCourse_ShouldReplayStoredResponse_WhenIdempotencyKeyRepeats() throws Exception {
+        // Arrange
+        when(courseService.createCourse(any(Course.class))).thenReturn(savedCourse);
+        String body = objectMapper.writeValueAsString(sampleCourse);
+
+        // Act & Assert
+        mockMvc.perform(post("/courses")
+                .header(IdempotencyStore.HEADER, "pedido-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "false"))
+                .andExpect(jsonPath("$.id", is(1)));
+        mockMvc.perform(post("/courses")
+                .header(IdempotencyStore.HEADER, "pedido-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is(1)));
+        verify(courseService, times(1)).createCourse(any(Course.class));
+    }
+
+    @Test
+    void createCourse_ShouldReturnUnprocessable_WhenIdempotencyKeyIsReusedWithOtherBody() throws Exception {
+        // Arrange
+        when(courseService.createCourse(any(Course.class))).thenReturn(savedCourse);
+        mockMvc.perform(post("/courses")
+                .header(IdempotencyStore.HEADER, "pedido-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sampleCourse)))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/courses")
+                .header(IdempotencyStore.HEADER, "pedido-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Course(null, "Outro curso", "Programação", 40))))
+                .andExpect(status().isUnprocessableEntity());
+        verify(courseService, times(1)).createCourse(any(Course.class));
+    }
+
     @Test
     void createCourse_ShouldReturnBadRequest_WhenTituloIsBlank() throws Exception {
         // Arrange
@@ -89,11 +171,11 @@ class CourseControllerTest {
     @Test
     void getCourses_ShouldReturnAllCourses_WhenNoQueryProvided() throws Exception {
         // Arrange
-        List<Course> courses = Arrays.asList(
-                new Course(1L, "Java Fundamentals", "Programação", 40),
-                new Course(2L, "Angular Basics", "Frontend", 35)
+        List<CourseDTO> courses = Arrays.asList(
+                new CourseDTO(1L, "Java Fundamentals", "Programação", 40),
+                new CourseDTO(2L, "Angular Basics", "Frontend", 35)
         );
-        when(courseService.searchCourses(null)).thenReturn(courses);
+        when(courseService.getAllCourses()).thenReturn(courses);
 
         // Act & Assert
         mockMvc.perform(get("/courses"))
@@ -109,10 +191,10 @@ class CourseControllerTest {
     @Test
     void getCourses_ShouldReturnFilteredCourses_WhenQueryProvided() throws Exception {
         // Arrange
-        List<Course> filteredCourses = Arrays.asList(
-                new Course(1L, "Java Fundamentals", "Programação", 40)
+        List<CourseDTO> filteredCourses = Arrays.asList(
+                new CourseDTO(1L, "Java Fundamentals", "Programação", 40)
         );
-        when(courseService.searchCourses(eq("Java"))).thenReturn(filteredCourses);
+        when(courseService.searchCourses(eq("Java"), any(CourseFilter.class))).thenReturn(filteredCourses);
 
         // Act & Assert
         mockMvc.perform(get("/courses").param("q", "Java"))
@@ -126,7 +208,7 @@ class CourseControllerTest {
     @Test
     void getCourses_ShouldReturnEmptyList_WhenNoCoursesFound() throws Exception {
         // Arrange
-        when(courseService.searchCourses(eq("NonExistent"))).thenReturn(Collections.emptyList());
+        when(courseService.searchCourses(eq("NonExistent"), any(CourseFilter.class))).thenReturn(Collections.emptyList());
 
         // Act & Assert
         mockMvc.perform(get("/courses").param("q", "NonExistent"))
@@ -158,4 +240,315 @@ class CourseControllerTest {
                 .content(objectMapper.writeValueAsString(invalidCourse)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCoursesPage_ShouldReturnItemsAndNextCursor_WhenLimitProvided() throws Exception {
+        // Arrange
+        CoursePage page = new CoursePage(Arrays.asList(
+                new CourseDTO(3L, "Java Fundamentals", "Programação", 40),
+                new CourseDTO(4L, "Angular Basics", "Frontend", 35)
+        ), 4L);
+        when(courseService.findPage(null, new CourseFilter(), 2L, 2)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/courses").param("limit", "2").param("after", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(3)))
+                .andExpect(jsonPath("$.nextCursor", is(4)));
+    }
+
+    @Test
+    void getCoursesPage_ShouldPassQueryToService() throws Exception {
+        // Arrange
+        when(courseService.findPage("Java", new CourseFilter(), null, 10))
+                .thenReturn(new CoursePage(List.of(savedDto), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses").param("q", "Java").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getCoursesPage_ShouldReturnBadRequest_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/courses").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/courses").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamCourses_ShouldWriteOneJsonObjectPerLine_WhenNdjsonRequested() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<CourseDTO> sink = invocation.getArgument(0);
+            sink.accept(new CourseDTO(1L, "Java Fundamentals", "Programação", 40));
+            sink.accept(new CourseDTO(2L, "Angular Basics", "Frontend", 35));
+            return null;
+        }).when(courseService).streamAllCourses(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/courses").accept(CourseController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CourseController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Course.class).getTitulo()).isEqualTo("Java Fundamentals");
+        assertThat(objectMapper.readValue(lines[1], Course.class).getId()).isEqualTo(2L);
+        verify(courseService, never()).searchCourses(any(), any());
+    }
+
+    @Test
+    void rankCourses_ShouldReturnCoursesInRelevanceOrder() throws Exception {
+        // Arrange
+        when(courseService.rankCourses("introducao", 20)).thenReturn(List.of(
+                new CourseDTO(3L, "Introdução ao Java", "Programação", 40),
+                new CourseDTO(1L, "Introdução ao Angular", "Frontend", 45)));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/search").param("q", "introducao"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[1].id", is(1)));
+    }
+
+    @Test
+    void rankCourses_ShouldReturnBadRequest_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/courses/search").param("q", "java").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+        verify(courseService, never()).rankCourses(any(), anyInt());
+    }
+
+    @Test
+    void suggestTitles_ShouldReturnTitlesFromService() throws Exception {
+        // Arrange
+        when(courseService.suggestTitles("jav", 10)).thenReturn(List.of("Java Básico", "Java Avançado"));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/suggest").param("prefix", "jav"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("Java Básico")));
+    }
+
+    @Test
+    void suggestTitles_ShouldReturnBadRequest_WhenKOutOfRange() throws Exception {
+        mockMvc.perform(get("/courses/suggest").param("prefix", "jav").param("k", "0"))
+                .andExpect(status().isBadRequest());
+        verify(courseService, never()).suggestTitles(any(), anyInt());
+    }
+
+    @Test
+    void getFacets_ShouldReturnInMemoryTotalsWithoutQueryingTheService() throws Exception {
+        // Arrange
+        when(courseFacets.getFacets()).thenReturn(Optional.of(List.of(
+                new CategoryFacet("Backend", 2, 90), new CategoryFacet(null, 1, 10))));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].categoria", is("Backend")))
+                .andExpect(jsonPath("$[0].cursos", is(2)))
+                .andExpect(jsonPath("$[0].cargaHorariaTotal", is(90)))
+                .andExpect(jsonPath("$[1].categoria").doesNotExist());
+
+        verify(courseService, never()).searchCourses(any(), any());
+    }
+
+    @Test
+    void getFacets_ShouldReturnServiceUnavailableWithRetryAfter_WhileTotalsAreBeingComputed() throws Exception {
+        // Arrange
+        when(courseFacets.getFacets()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/facets"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void getCourses_ShouldBindCategoriaAndHourRange_WhenFiltersProvided() throws Exception {
+        // Arrange
+        CourseFilter filter = new CourseFilter("Programação", 20, 60);
+        when(courseService.searchCourses("Java", filter)).thenReturn(List.of(savedDto));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses")
+                        .param("q", "Java")
+                        .param("categoria", "Programação")
+                        .param("minHoras", "20")
+                        .param("maxHoras", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].titulo", is("Java Fundamentals")));
+    }
+
+    @Test
+    void getCourses_ShouldReturnBadRequest_WhenHourRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/courses").param("minHoras", "60").param("maxHoras", "20"))
+                .andExpect(status().isBadRequest());
+
+        verify(courseService, never()).searchCourses(any(), any());
+    }
+
+    @Test
+    void getCourses_ShouldSendStrongEtagAndLastModified() throws Exception {
+        // Arrange
+        when(courseService.getAllCourses()).thenReturn(List.of(savedDto));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", catalogVersion.current().getEtag()))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void getAllCourses_ShouldWritePreEncodedBytes_WithoutCallingService() throws Exception {
+        // Arrange
+        byte[] identity = objectMapper.writeValueAsBytes(List.of(savedDto));
+        byte[] gzip = {31, -117, 8, 0};
+        when(listingBytes.current()).thenReturn(
+                new CourseListingBytes.Encoded(catalogVersion.current(), identity, gzip));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(identity));
+        mockMvc.perform(get("/courses").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", catalogVersion.current().getGzipEtag()))
+                .andExpect(content().bytes(gzip));
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getAllCourses_ShouldNotMatchGzipEtag_ForIdentityRequest() throws Exception {
+        // Arrange
+        when(courseService.getAllCourses()).thenReturn(List.of(savedDto));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses").header("If-None-Match", catalogVersion.current().getGzipEtag()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getCourses_ShouldEncodeCbor_WhenAccepted() throws Exception {
+        // Arrange
+        when(courseService.searchCourses(null, new CourseFilter())).thenReturn(List.of(savedDto));
+        CBORMapper cborMapper = new CBORMapper();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/courses").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get(0).get("titulo").asText()).isEqualTo("Java Fundamentals");
+        assertThat(body.get(0).get("cargaHoraria").asInt()).isEqualTo(40);
+    }
+
+    @Test
+    void createCourse_ShouldReadAndWriteCbor() throws Exception {
+        // Arrange
+        CBORMapper cborMapper = new CBORMapper();
+        when(courseService.createCourse(any(Course.class))).thenReturn(savedCourse);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(sampleCourse)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        assertThat(cborMapper.readValue(result.getResponse().getContentAsByteArray(), Course.class))
+                .isEqualTo(savedCourse);
+        verify(courseService).createCourse(sampleCourse);
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourZeroQuality() {
+        assertThat(CourseController.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CourseController.acceptsGzip(" GZIP ;q=0.5")).isTrue();
+        assertThat(CourseController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CourseController.acceptsGzip("br, gzip; q=0.000")).isFalse();
+        assertThat(CourseController.acceptsGzip("x-gzip, deflate")).isFalse();
+        assertThat(CourseController.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void getCourses_ShouldReturnNotModifiedWithoutCallingService_WhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/courses").header("If-None-Match", catalogVersion.current().getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getCourseById_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/courses/1").header("If-None-Match", catalogVersion.current().getEtag()))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getCourseById_ShouldTagEachFormatWithItsOwnEtag_AndVaryByAccept() throws Exception {
+        // Arrange
+        when(courseService.findCourseById(1L)).thenReturn(Optional.of(savedDto));
+        CatalogVersion.Stamp stamp = catalogVersion.current();
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", stamp.etagFor("cbor")))
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/courses/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", stamp.getEtag()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/courses/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", stamp.etagFor("cbor")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/courses/1").header("If-None-Match", stamp.etagFor("cbor")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", stamp.getEtag()));
+        mockMvc.perform(get("/courses/1").header("Accept", "application/cbor, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", stamp.etagFor("cbor")));
+    }
+
+    @Test
+    void negotiatedFormat_ShouldFollowQualityThenAcceptOrder() {
+        assertThat(CourseController.negotiatedFormat(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(CourseController.negotiatedFormat("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(CourseController.negotiatedFormat("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CourseController.negotiatedFormat("application/json;q=0.5, application/x-jackson-smile"))
+                .isEqualTo(MediaType.parseMediaType(CourseController.APPLICATION_SMILE_VALUE));
+        assertThat(CourseController.negotiatedFormat("application/cbor, application/json"))
+                .isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CourseController.negotiatedFormat("não é um tipo")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+}
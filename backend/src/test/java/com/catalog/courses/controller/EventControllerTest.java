@@ -0,0 +1,110 @@
+package com.catalog.courses.controller;
+
+import com.catalog.courses.event.CourseEventBroadcaster;
+import com.catalog.courses.event.CourseEventListener;
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.model.Course;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EventController.class)
+@Import(SimpleMeterRegistry.class)
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CourseEventListener eventListener;
+
+    @MockBean
+    private CourseEventBroadcaster broadcaster;
+
+    @Test
+    void getEvents_ShouldReturnEventsAfterSequence() throws Exception {
+        // Arrange
+        Course course = new Course(7L, "Java Fundamentals", "Programação", 40);
+        when(eventListener.getEvents(41L, 10)).thenReturn(List.of(
+                new StoredCourseEvent(42L, Instant.parse("2024-01-01T12:00:00Z"), course)));
+
+        // Act & Assert
+        mockMvc.perform(get("/events").param("after", "41").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sequence", is(42)))
+                .andExpect(jsonPath("$[0].course.titulo", is("Java Fundamentals")));
+    }
+
+    @Test
+    void getEvents_ShouldEncodeSmile_WhenAccepted() throws Exception {
+        // Arrange
+        Course course = new Course(7L, "Java Fundamentals", "Programação", 40);
+        when(eventListener.getEvents(0L, EventController.MAX_LIMIT)).thenReturn(List.of(
+                new StoredCourseEvent(42L, Instant.parse("2024-01-01T12:00:00Z"), course)));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/events").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode events = new SmileMapper().readTree(body);
+        assertThat(events.get(0).get("sequence").asLong()).isEqualTo(42L);
+        assertThat(events.get(0).get("course").get("titulo").asText()).isEqualTo("Java Fundamentals");
+    }
+
+    @Test
+    void getEvents_ShouldUseDefaults_WhenNoParamsProvided() throws Exception {
+        // Arrange
+        when(eventListener.getEvents(0L, EventController.MAX_LIMIT)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getEvents_ShouldReturnBadRequest_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/events").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamEvents_ShouldSubscribeFromLastEventId() throws Exception {
+        // Arrange
+        when(broadcaster.subscribe(42L)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/events/stream").header("Last-Event-ID", "42"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        verify(broadcaster).subscribe(42L);
+    }
+}
@@ -0,0 +1,270 @@
+package com.catalog.courses.event;
+
+import com.catalog.courses.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class CourseEventBroadcasterTest {
+
+    private final CourseEventStore store = new CourseEventStore(64, Duration.ZERO);
+    private CourseEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_ShouldPushNewEventsWithSequenceAsId() {
+        // Arrange
+        broadcaster = broadcaster(16, CourseEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+        append(1);
+        broadcaster.subscribe(null);
+
+        // Act
+        append(2);
+        append(3);
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.ids().size() == 2);
+        assertThat(emitter.ids()).containsExactly("2", "3");
+    }
+
+    @Test
+    void subscribe_ShouldReplayEventsAfterLastEventId() {
+        // Arrange
+        broadcaster = broadcaster(16, CourseEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+        for (int i = 1; i <= 5; i++) {
+            append(i);
+        }
+
+        // Act
+        broadcaster.subscribe(3L);
+        append(6);
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.ids().size() == 3);
+        assertThat(emitter.ids()).containsExactly("4", "5", "6");
+    }
+
+    @Test
+    void subscribe_ShouldSendResetAndFollowFromLastSequence_WhenLastEventIdIsAhead() {
+        // Arrange - cliente vindo de antes de um reinício que zerou a numeração
+        broadcaster = broadcaster(16, CourseEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+        for (int i = 1; i <= 3; i++) {
+            append(i);
+        }
+
+        // Act
+        broadcaster.subscribe(500L);
+        append(4);
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.ids().size() == 2);
+        assertThat(emitter.ids()).containsExactly("3", "4");
+        assertThat(emitter.names()).containsExactly(CourseEventBroadcaster.RESET_EVENT_NAME,
+                CourseEventBroadcaster.EVENT_NAME);
+    }
+
+    @Test
+    void subscribe_ShouldSendResetAndFollowFromLastSequence_WhenLastEventIdLeftTheBuffer() {
+        // Arrange - buffer de 64 eventos já deu a volta: o mais antigo retido é o 7
+        broadcaster = broadcaster(16, CourseEventBroadcaster.OverflowPolicy.DROP);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+        for (int i = 1; i <= 70; i++) {
+            append(i);
+        }
+
+        // Act
+        broadcaster.subscribe(2L);
+        append(71);
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.ids().size() == 2);
+        assertThat(emitter.ids()).containsExactly("70", "71");
+        assertThat(emitter.names()).containsExactly(CourseEventBroadcaster.RESET_EVENT_NAME,
+                CourseEventBroadcaster.EVENT_NAME);
+    }
+
+    @Test
+    void slowSubscriber_ShouldDropOldestEvents_WithoutBlockingOthers() {
+        // Arrange
+        broadcaster = broadcaster(2, CourseEventBroadcaster.OverflowPolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> slow);
+        broadcaster.subscribe(null);
+        broadcaster.setEmitterFactory(() -> fast);
+        broadcaster.subscribe(null);
+
+        // Act - the fast subscriber keeps up with every event while the slow one is stuck
+        for (int i = 1; i <= 10; i++) {
+            append(i);
+            String id = Integer.toString(i);
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.ids().contains(id));
+        }
+
+        // Assert
+        assertThat(fast.ids()).hasSize(10);
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.ids().contains("10"));
+        assertThat(slow.ids().size()).isLessThan(10);
+        assertThat(slow.ids()).endsWith("9", "10");
+    }
+
+    @Test
+    void slowSubscriber_ShouldBeDisconnected_WhenPolicyIsDisconnect() {
+        // Arrange
+        broadcaster = broadcaster(2, CourseEventBroadcaster.OverflowPolicy.DISCONNECT);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.setEmitterFactory(() -> slow);
+        broadcaster.subscribe(null);
+
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            append(i);
+        }
+        release.countDown();
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> broadcaster.subscriberCount() == 0);
+        assertThat(slow.ids()).doesNotContain("10");
+    }
+
+    @Test
+    void subscribe_ShouldReportExpiredEventsAsGap_AndThenKeepDelivering() {
+        // Arrange - eventos 1 e 2 já além da retenção quando o assinante retoma
+        Instant now = Instant.parse("2024-01-01T12:00:00Z");
+        CourseEventStore expiring = new CourseEventStore(64, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+        expiring.append(new CourseCreatedEvent(this, new Course(1L, "Curso 1", "Programação", 10),
+                Clock.fixed(now.minusSeconds(600), ZoneOffset.UTC)));
+        expiring.append(new CourseCreatedEvent(this, new Course(2L, "Curso 2", "Programação", 10),
+                Clock.fixed(now.minusSeconds(600), ZoneOffset.UTC)));
+        broadcaster = new CourseEventBroadcaster(expiring, 16, CourseEventBroadcaster.OverflowPolicy.DROP,
+                Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+
+        // Act
+        broadcaster.subscribe(0L);
+        expiring.append(new CourseCreatedEvent(this, new Course(3L, "Curso 3", "Programação", 10),
+                Clock.fixed(now, ZoneOffset.UTC)));
+        broadcaster.notifySubscribers();
+
+        // Assert
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitter.ids().contains("3"));
+        assertThat(emitter.ids()).containsExactly("2", "3");
+        assertThat(emitter.names()).containsExactly(CourseEventBroadcaster.GAP_EVENT_NAME,
+                CourseEventBroadcaster.EVENT_NAME);
+    }
+
+    @Test
+    void drain_ShouldWaitForNotify_WhenNextEventIsStillInFlight() throws InterruptedException {
+        // Arrange - a sequência 2 foi reservada, mas o escritor ainda não publicou
+        AtomicInteger reads = new AtomicInteger();
+        CourseEventStore inFlight = new CourseEventStore(64, Duration.ZERO) {
+            @Override
+            public long lastSequence() {
+                return super.lastSequence() + 1;
+            }
+
+            @Override
+            public List<StoredCourseEvent> read(long after, int limit) {
+                reads.incrementAndGet();
+                return super.read(after, limit);
+            }
+        };
+        broadcaster = new CourseEventBroadcaster(inFlight, 16, CourseEventBroadcaster.OverflowPolicy.DROP,
+                Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.setEmitterFactory(() -> emitter);
+
+        // Act
+        broadcaster.subscribe(inFlight.lastSequence() - 1);
+        TimeUnit.MILLISECONDS.sleep(200);
+        int readsWhileWaiting = reads.get();
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        // Assert
+        assertThat(reads.get()).isEqualTo(readsWhileWaiting).isLessThan(10);
+        assertThat(emitter.ids()).isEmpty();
+    }
+
+    private CourseEventBroadcaster broadcaster(int bufferSize, CourseEventBroadcaster.OverflowPolicy policy) {
+        return new CourseEventBroadcaster(store, bufferSize, policy, Duration.ofMinutes(1));
+    }
+
+    private void append(int i) {
+        store.append(new CourseCreatedEvent(this, new Course((long) i, "Curso " + i, "Programação", 10)));
+        broadcaster.notifySubscribers();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            parts.stream()
+                    .map(part -> part.getData().toString())
+                    .filter(text -> text.startsWith("id:"))
+                    .findFirst()
+                    .ifPresent(text -> sent.add(text.substring(3).lines().findFirst().orElse("")));
+            parts.stream()
+                    .map(part -> part.getData().toString())
+                    .flatMap(String::lines)
+                    .filter(line -> line.startsWith("event:"))
+                    .findFirst()
+                    .ifPresent(line -> names.add(line.substring(6)));
+        }
+
+        List<String> names() {
+            return names;
+        }
+
+        List<String> ids() {
+            return sent;
+        }
+    }
+}
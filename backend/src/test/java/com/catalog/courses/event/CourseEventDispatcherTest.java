@@ -0,0 +1,152 @@
+package com.catalog.courses.event;
+
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CourseEventDispatcherTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CourseEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_ShouldPublishImmediately_WhenNoTransactionIsActive() {
+        // Arrange
+        dispatcher = dispatcher(CourseEventDispatcher.Mode.SYNC);
+        CourseCreatedEvent event = event();
+
+        // Act
+        dispatcher.dispatch(event);
+
+        // Assert
+        verify(eventPublisher).publishEvent(event);
+    }
+
+    @Test
+    void dispatch_ShouldWaitForCommit_WhenTransactionIsActive() {
+        // Arrange
+        dispatcher = dispatcher(CourseEventDispatcher.Mode.SYNC);
+        CourseCreatedEvent event = event();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        dispatcher.dispatch(event);
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(eventPublisher).publishEvent(event);
+    }
+
+    @Test
+    void dispatch_ShouldRecordAllEventsOfTheTransactionAtCommit_BeforeAsyncDelivery() {
+        // Arrange
+        CourseEventListener listener = mock(CourseEventListener.class);
+        dispatcher = new CourseEventDispatcher(eventPublisher,
+                new StaticListableBeanFactory(Map.of("listener", listener)).getBeanProvider(CourseEventListener.class),
+                meterRegistry, CourseEventDispatcher.Mode.ASYNC, 1, 16);
+        CourseCreatedEvent first = event();
+        CourseCreatedEvent second = event();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+        verify(listener, never()).record(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert: registrados juntos, na thread do commit, antes de a entrega começar
+        verify(listener).record(List.of(first, second));
+        verify(eventPublisher, timeout(5000)).publishEvent(first);
+        verify(eventPublisher, timeout(5000)).publishEvent(second);
+        assertThat(TransactionSynchronizationManager.getResource(dispatcher)).isNull();
+    }
+
+    @Test
+    void dispatch_ShouldDropEvent_WhenTransactionRollsBack() {
+        // Arrange
+        dispatcher = dispatcher(CourseEventDispatcher.Mode.SYNC);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        dispatcher.dispatch(event());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    void dispatch_ShouldNotWaitForSlowListeners_InAsyncMode() throws Exception {
+        // Arrange
+        dispatcher = dispatcher(CourseEventDispatcher.Mode.ASYNC);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listenerThread.set(Thread.currentThread());
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+        CourseCreatedEvent event = event();
+
+        // Act
+        long start = System.nanoTime();
+        dispatcher.dispatch(event);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Assert
+        assertThat(elapsedMillis).isLessThan(1000);
+        verify(eventPublisher, timeout(5000)).publishEvent(event);
+        assertThat(listenerThread.get().isVirtual()).isTrue();
+        assertThat(meterRegistry.get("catalog.events.dispatch.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.events.dispatch.queue").gauge().value()).isZero();
+    }
+
+    private CourseEventDispatcher dispatcher(CourseEventDispatcher.Mode mode) {
+        return new CourseEventDispatcher(eventPublisher,
+                new StaticListableBeanFactory().getBeanProvider(CourseEventListener.class), meterRegistry, mode, 1, 16);
+    }
+
+    private CourseCreatedEvent event() {
+        return new CourseCreatedEvent(this, new Course(1L, "Java Fundamentals", "Programação", 40));
+    }
+}
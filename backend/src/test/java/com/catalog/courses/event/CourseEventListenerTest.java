@@ -1,19 +1,51 @@
 package com.catalog.courses.event;
 
+import com.catalog.courses.event.log.CourseEventLog;
 import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
 class CourseEventListenerTest {
 
+    @Spy
+    private CourseEventStore eventStore = new CourseEventStore(16, Duration.ZERO);
+
+    @Mock
+    private CourseEventBroadcaster broadcaster;
+
+    @Mock
+    private ObjectProvider<CourseEventLog> eventLogProvider;
+
     @InjectMocks
     private CourseEventListener courseEventListener;
 
@@ -37,12 +69,12 @@ class CourseEventListenerTest {
     }
 
     @Test
-    void handleCourseCreated_ShouldAddEventToList(CapturedOutput output) {
+    void record_ShouldAddEventToList() {
         // Arrange
         CourseCreatedEvent event = new CourseCreatedEvent(this, sampleCourse);
 
         // Act
-        courseEventListener.handleCourseCreatedEvent(event);
+        courseEventListener.record(List.of(event));
 
         // Assert
         assertThat(courseEventListener.getEvents()).hasSize(1);
@@ -61,4 +93,66 @@ class CourseEventListenerTest {
         // Assert
         assertThat(output.getOut()).contains("Curso criado: null");
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleCourseCreated_ShouldNotifyStreamSubscribers() {
+        // Act
+        courseEventListener.handleCourseCreatedEvent(new CourseCreatedEvent(this, sampleCourse));
+
+        // Assert
+        verify(broadcaster).notifySubscribers();
+    }
+
+    @Test
+    void withEventLog_ShouldResumeSequencesAndReadFromLog(@TempDir Path dir) {
+        // Arrange
+        CourseEventLog eventLog = new CourseEventLog(dir, DataSize.ofMegabytes(1), DataSize.ofKilobytes(4),
+                CourseEventLog.FsyncPolicy.BATCH, Duration.ofSeconds(1), Duration.ZERO, new SimpleMeterRegistry());
+        eventLog.append(List.of(new StoredCourseEvent(1, Instant.now(), sampleCourse),
+                new StoredCourseEvent(2, Instant.now(), sampleCourse)));
+        when(eventLogProvider.getIfAvailable()).thenReturn(eventLog);
+        CourseEventStore store = new CourseEventStore(16, Duration.ZERO);
+
+        // Act
+        CourseEventListener listener = new CourseEventListener(store, broadcaster, eventLogProvider);
+        listener.record(List.of(new CourseCreatedEvent(this, sampleCourse)));
+
+        // Assert
+        assertThat(store.lastSequence()).isEqualTo(3L);
+        assertThat(listener.getEvents()).extracting(StoredCourseEvent::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(eventLog.read(1, 10)).extracting(StoredCourseEvent::getSequence).containsExactly(2L, 3L);
+        eventLog.close();
+    }
+
+    @Test
+    void withEventLog_ShouldRetryFailedAppendAndServePendingEventsFromMemory() {
+        // Arrange: a primeira gravação falha, as seguintes funcionam
+        CourseEventLog eventLog = mock(CourseEventLog.class);
+        AtomicLong logged = new AtomicLong();
+        List<List<Long>> appends = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<StoredCourseEvent> events = invocation.getArgument(0);
+            appends.add(events.stream().map(StoredCourseEvent::getSequence).toList());
+            if (appends.size() == 1) {
+                throw new UncheckedIOException(new IOException("disco cheio"));
+            }
+            logged.set(events.get(events.size() - 1).getSequence());
+            return null;
+        }).when(eventLog).append(anyList());
+        when(eventLog.lastSequence()).thenAnswer(invocation -> logged.get());
+        when(eventLog.read(anyLong(), anyInt())).thenAnswer(invocation -> new ArrayList<>());
+        when(eventLogProvider.getIfAvailable()).thenReturn(eventLog);
+        CourseEventListener listener = new CourseEventListener(new CourseEventStore(16, Duration.ZERO),
+                broadcaster, eventLogProvider);
+
+        // Act
+        listener.record(List.of(new CourseCreatedEvent(this, sampleCourse)));
+        List<StoredCourseEvent> whilePending = listener.getEvents(0, 10);
+        listener.record(List.of(new CourseCreatedEvent(this, sampleCourse)));
+
+        // Assert: o evento que falhou segue visível e é regravado antes do próximo, em ordem
+        assertThat(whilePending).extracting(StoredCourseEvent::getSequence).containsExactly(1L);
+        assertThat(appends).containsExactly(List.of(1L), List.of(1L, 2L));
+        assertThat(logged.get()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,120 @@
+package com.catalog.courses.event;
+
+import com.catalog.courses.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseEventStoreTest {
+
+    @Test
+    void read_ShouldReturnEventsAfterSequenceUpToLimit() {
+        // Arrange
+        CourseEventStore store = new CourseEventStore(8, Duration.ZERO);
+        for (int i = 1; i <= 5; i++) {
+            store.append(event(i));
+        }
+
+        // Act
+        List<StoredCourseEvent> page = store.read(2, 2);
+
+        // Assert
+        assertThat(page).extracting(StoredCourseEvent::getSequence).containsExactly(3L, 4L);
+        assertThat(page.get(0).getCourse().getTitulo()).isEqualTo("Curso 3");
+    }
+
+    @Test
+    void append_ShouldOverwriteOldestEvents_WhenCapacityIsExceeded() {
+        // Arrange
+        CourseEventStore store = new CourseEventStore(4, Duration.ZERO);
+
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            store.append(event(i));
+        }
+
+        // Assert
+        assertThat(store.snapshot()).extracting(StoredCourseEvent::getSequence).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(store.read(0, 100)).hasSize(4);
+        assertThat(store.lastSequence()).isEqualTo(10L);
+    }
+
+    @Test
+    void read_ShouldSkipEventsOlderThanRetention() {
+        // Arrange
+        Instant now = Instant.parse("2024-01-01T12:00:00Z");
+        CourseEventStore store = new CourseEventStore(8, Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+        store.append(new CourseCreatedEvent(this, course(1), Clock.fixed(now.minusSeconds(600), ZoneOffset.UTC)));
+        store.append(new CourseCreatedEvent(this, course(2), Clock.fixed(now.minusSeconds(60), ZoneOffset.UTC)));
+
+        // Act & Assert
+        assertThat(store.snapshot()).extracting(StoredCourseEvent::getSequence).containsExactly(2L);
+    }
+
+    @Test
+    void append_ShouldKeepEverySequence_WithConcurrentWriters() throws Exception {
+        // Arrange
+        int writers = 8;
+        int perWriter = 500;
+        CourseEventStore store = new CourseEventStore(writers * perWriter, Duration.ZERO);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int w = 0; w < writers; w++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    store.append(event(i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        List<Long> sequences = new ArrayList<>();
+        store.snapshot().forEach(e -> sequences.add(e.getSequence()));
+        assertThat(sequences).hasSize(writers * perWriter).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void restore_ShouldResumeSequenceAfterContiguousTail() {
+        // Arrange
+        CourseEventStore store = new CourseEventStore(8, Duration.ZERO);
+        Instant now = Instant.now();
+        List<StoredCourseEvent> tail = List.of(
+                new StoredCourseEvent(3, now, course(3)),
+                new StoredCourseEvent(5, now, course(5)),
+                new StoredCourseEvent(6, now, course(6)));
+
+        // Act
+        store.restore(6, tail);
+        store.append(event(7));
+
+        // Assert
+        assertThat(store.read(0, 10)).extracting(StoredCourseEvent::getSequence).containsExactly(5L, 6L, 7L);
+        assertThat(store.lastSequence()).isEqualTo(7L);
+    }
+
+    private CourseCreatedEvent event(int i) {
+        return new CourseCreatedEvent(this, course(i));
+    }
+
+    private static Course course(int i) {
+        return new Course((long) i, "Curso " + i, "Programação", 10);
+    }
+}
@@ -0,0 +1,145 @@
+package com.catalog.courses.event.log;
+
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseEventLogTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void read_ShouldStartAtOffsetAcrossSegments() {
+        // Arrange
+        CourseEventLog log = open(Duration.ZERO);
+        log.append(events(1, 2000, NOW));
+
+        // Act
+        List<StoredCourseEvent> page = log.read(1234, 3);
+
+        // Assert
+        assertThat(log.segmentCount()).isGreaterThan(1);
+        assertThat(page).extracting(StoredCourseEvent::getSequence).containsExactly(1235L, 1236L, 1237L);
+        assertThat(page.get(0).getCourse()).isEqualTo(course(1235));
+        assertThat(page.get(0).getTimestamp()).isEqualTo(NOW);
+        assertThat(log.read(1998, 10)).extracting(StoredCourseEvent::getSequence).containsExactly(1999L, 2000L);
+        assertThat(log.read(2000, 10)).isEmpty();
+        log.close();
+    }
+
+    @Test
+    void reopen_ShouldRecoverEventsAndContinueSequence() {
+        // Arrange
+        CourseEventLog first = open(Duration.ZERO);
+        first.append(events(1, 1500, NOW));
+        first.close();
+
+        // Act
+        CourseEventLog reopened = open(Duration.ZERO);
+        reopened.append(events(1501, 1501, NOW));
+
+        // Assert
+        assertThat(reopened.lastSequence()).isEqualTo(1501L);
+        assertThat(reopened.read(0, 5000)).hasSize(1501)
+                .extracting(StoredCourseEvent::getSequence).isSorted().doesNotHaveDuplicates();
+        assertThat(reopened.tail(2)).extracting(StoredCourseEvent::getSequence).containsExactly(1500L, 1501L);
+        reopened.close();
+    }
+
+    @Test
+    void reopen_ShouldDropTornRecordAtTheEnd() throws IOException {
+        // Arrange
+        CourseEventLog first = open(Duration.ZERO);
+        first.append(events(1, 10, NOW));
+        first.close();
+        Path segment = dir.resolve(LogSegment.fileName(1, ".log"));
+        long end = endOfRecords(segment);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(60);
+            file.writeInt(12345);
+            file.writeLong(11);
+        }
+
+        // Act
+        CourseEventLog reopened = open(Duration.ZERO);
+        reopened.append(events(11, 11, NOW));
+
+        // Assert
+        assertThat(reopened.read(0, 100)).extracting(StoredCourseEvent::getSequence).hasSize(11).endsWith(11L);
+        reopened.close();
+        CourseEventLog again = open(Duration.ZERO);
+        assertThat(again.read(9, 100)).extracting(StoredCourseEvent::getSequence).containsExactly(10L, 11L);
+        again.close();
+    }
+
+    @Test
+    void roll_ShouldDeleteSegmentsOlderThanRetention() throws IOException {
+        // Arrange
+        CourseEventLog log = open(Duration.ofDays(1));
+        log.append(events(1, 1000, NOW.minus(Duration.ofDays(3))));
+
+        // Act
+        log.append(events(1001, 2000, NOW));
+
+        // Assert
+        assertThat(log.read(0, 1).get(0).getSequence()).isGreaterThan(500L);
+        assertThat(log.read(1500, 1)).extracting(StoredCourseEvent::getSequence).containsExactly(1501L);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".log")).count()).isEqualTo(log.segmentCount());
+        }
+        log.close();
+    }
+
+    private CourseEventLog open(Duration retention) {
+        return new CourseEventLog(dir, 16 * 1024, 512, CourseEventLog.FsyncPolicy.BATCH,
+                Duration.ofSeconds(1), retention, new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static long endOfRecords(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            long position = 0;
+            int length;
+            while ((length = readLength(file, position)) > 0) {
+                position += EventRecords.HEADER + length;
+            }
+            return position;
+        }
+    }
+
+    private static int readLength(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.readInt();
+    }
+
+    private static List<StoredCourseEvent> events(int from, int to, Instant timestamp) {
+        List<StoredCourseEvent> events = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            events.add(new StoredCourseEvent(i, timestamp, course(i)));
+        }
+        return events;
+    }
+
+    private static Course course(int i) {
+        return new Course((long) i, "Curso " + i, i % 2 == 0 ? "Programação" : null, 10 + i % 50);
+    }
+}
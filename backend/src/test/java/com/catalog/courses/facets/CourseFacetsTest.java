@@ -0,0 +1,117 @@
+package com.catalog.courses.facets;
+
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CoursesImportedEvent;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseFacetsTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CourseFacets courseFacets;
+
+    @BeforeEach
+    void setUp() {
+        courseFacets = new CourseFacets(courseRepository, transactionManager, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseFacets.shutdown();
+    }
+
+    @Test
+    void rebuild_ShouldLoadTotalsFromSingleAggregateQuery() {
+        // Arrange
+        when(courseRepository.aggregateByCategoria()).thenReturn(List.of(
+                new CategoryFacet("Frontend", 1, 20), new CategoryFacet("Backend", 2, 90)));
+        assertThat(courseFacets.getFacets()).isEmpty();
+
+        // Act
+        courseFacets.rebuild();
+
+        // Assert
+        assertThat(courseFacets.getFacets()).hasValue(List.of(
+                new CategoryFacet("Backend", 2, 90), new CategoryFacet("Frontend", 1, 20)));
+        verify(courseRepository, times(1)).aggregateByCategoria();
+    }
+
+    @Test
+    void events_ShouldUpdateTotalsIncrementally() {
+        // Arrange
+        when(courseRepository.aggregateByCategoria()).thenReturn(List.of(new CategoryFacet("Backend", 2, 90)));
+        courseFacets.rebuild();
+
+        // Act
+        courseFacets.handleCourseCreatedEvent(new CourseCreatedEvent(this, new Course(3L, "Go", "Backend", 30)));
+        courseFacets.handleCoursesImportedEvent(new CoursesImportedEvent(this, List.of(
+                new Course(4L, "Angular", "Frontend", 20), new Course(5L, "Sem categoria", null, 5))));
+
+        // Assert
+        assertThat(courseFacets.getFacets()).hasValue(List.of(
+                new CategoryFacet("Backend", 3, 120),
+                new CategoryFacet("Frontend", 1, 20),
+                new CategoryFacet(null, 1, 5)));
+        verify(courseRepository, times(1)).aggregateByCategoria();
+    }
+
+    @Test
+    void rebuild_ShouldAddEventsReceivedDuringTheAggregate_OnlyWhenItDidNotCountThem() {
+        // Arrange - o curso 3 foi confirmado antes do GROUP BY e o 4 depois
+        when(courseRepository.aggregateByCategoria()).thenAnswer(invocation -> {
+            courseFacets.handleCourseCreatedEvent(new CourseCreatedEvent(this, new Course(3L, "Go", "Backend", 30)));
+            courseFacets.handleCourseCreatedEvent(new CourseCreatedEvent(this, new Course(4L, "Vue", "Frontend", 20)));
+            return List.of(new CategoryFacet("Backend", 3, 120));
+        });
+        when(courseRepository.findIdsIn(anyCollection())).thenReturn(List.of(3L));
+
+        // Act
+        courseFacets.rebuild();
+
+        // Assert
+        assertThat(courseFacets.getFacets()).hasValue(List.of(
+                new CategoryFacet("Backend", 3, 120), new CategoryFacet("Frontend", 1, 20)));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldBuildInBackground_RetryingAfterFailures() {
+        // Arrange
+        when(courseRepository.aggregateByCategoria())
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenReturn(List.of(new CategoryFacet("Backend", 2, 90)));
+
+        // Act
+        courseFacets.afterSingletonsInstantiated();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(courseFacets.getFacets())
+                        .hasValue(List.of(new CategoryFacet("Backend", 2, 90))));
+        verify(courseRepository, times(2)).aggregateByCategoria();
+    }
+}
@@ -0,0 +1,194 @@
+package com.catalog.courses.idempotency;
+
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore store;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(100, Duration.ofMinutes(1), Duration.ofSeconds(5), meterRegistry);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_ShouldReplayTheFirstResultWithoutRunningAgain() {
+        // Arrange
+        Course request = course("Java");
+
+        // Act
+        IdempotencyStore.Outcome first = store.execute("k1", request, () -> save(request));
+        IdempotencyStore.Outcome retry = store.execute("k1", course("Java"), () -> save(request));
+
+        // Assert
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.course()).isSameAs(first.course());
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.idempotency.replayed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldCollapseConcurrentRequestsWithTheSameKey() throws Exception {
+        // Arrange - a primeira execução só termina depois que as demais chegaram
+        CountDownLatch release = new CountDownLatch(1);
+        Course request = course("Concorrente");
+
+        // Act
+        List<Future<IdempotencyStore.Outcome>> futures;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = IntStream.range(0, 8)
+                    .mapToObj(i -> pool.submit(() -> store.execute("k2", course("Concorrente"), () -> {
+                        await(release);
+                        return save(request);
+                    })))
+                    .toList();
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+        }
+
+        // Assert
+        assertThat(executions.get()).isEqualTo(1);
+        long replays = 0;
+        for (Future<IdempotencyStore.Outcome> future : futures) {
+            assertThat(future.get().course().getId()).isEqualTo(1L);
+            replays += future.get().replayed() ? 1 : 0;
+        }
+        assertThat(replays).isEqualTo(7);
+    }
+
+    @Test
+    void execute_ShouldForgetFailuresSoTheNextRetryRunsAgain() {
+        // Arrange
+        Course request = course("Falha");
+
+        // Act
+        assertThatThrownBy(() -> store.execute("k3", request, () -> {
+            throw new IllegalStateException("banco indisponível");
+        })).isInstanceOf(IllegalStateException.class);
+        IdempotencyStore.Outcome retry = store.execute("k3", request, () -> save(request));
+
+        // Assert
+        assertThat(retry.replayed()).isFalse();
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldRejectKeyReusedWithAnotherBody() {
+        // Arrange
+        store.execute("k4", course("Java"), () -> save(course("Java")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> store.execute("k4", course("Kotlin"), () -> save(course("Kotlin"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldKeepInFlightKeyPastSizeLimitAndTtl() throws Exception {
+        // Arrange - uma chave só e 50 ms de validade, com a primeira execução ainda rodando
+        IdempotencyStore small = new IdempotencyStore(1, Duration.ofMillis(50), Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Course request = course("Demorado");
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotencyStore.Outcome> first = pool.submit(() -> small.execute("lento", course("Demorado"), () -> {
+                await(release);
+                return save(request);
+            }));
+            TimeUnit.MILLISECONDS.sleep(100);
+            for (int i = 0; i < 50; i++) {
+                String key = "outra-" + i;
+                small.execute(key, course(key), () -> save(course(key)));
+            }
+
+            // Act
+            Future<IdempotencyStore.Outcome> retry = pool.submit(() -> small.execute("lento", course("Demorado"),
+                    () -> save(request)));
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            // Assert
+            assertThat(first.get().replayed()).isFalse();
+            assertThat(retry.get().replayed()).isTrue();
+            assertThat(retry.get().course().getId()).isEqualTo(first.get().course().getId());
+        }
+        assertThat(executions.get()).isEqualTo(51);
+    }
+
+    @Test
+    void execute_ShouldAnswerConflict_WhenTheFirstExecutionOutlastsTheReplayTimeout() throws Exception {
+        // Arrange
+        IdempotencyStore impatient = new IdempotencyStore(100, Duration.ofMinutes(1), Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Course request = course("Travado");
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotencyStore.Outcome> first = pool.submit(() -> impatient.execute("k5", course("Travado"), () -> {
+                await(release);
+                return save(request);
+            }));
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // Act & Assert - a repetição desiste sem derrubar a primeira execução
+            assertThatThrownBy(() -> impatient.execute("k5", course("Travado"), () -> save(request)))
+                    .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                            assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+            release.countDown();
+            assertThat(first.get().replayed()).isFalse();
+        }
+        assertThat(impatient.execute("k5", course("Travado"), () -> save(request)).replayed()).isTrue();
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldRejectBlankOrOversizedKeys() {
+        assertThatThrownBy(() -> store.execute(" ", course("Java"), () -> save(course("Java"))))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> store.execute("x".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), course("Java"),
+                () -> save(course("Java"))))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(executions.get()).isZero();
+    }
+
+    private Course save(Course request) {
+        // A criação preenche o ID do próprio objeto recebido, como o save do JPA
+        request.setId((long) executions.incrementAndGet());
+        return request;
+    }
+
+    private static Course course(String titulo) {
+        return new Course(null, titulo, "Programação", 40);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
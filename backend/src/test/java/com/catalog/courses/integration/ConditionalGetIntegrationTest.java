@@ -0,0 +1,117 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sem {@code @Transactional}: a versão do catálogo só avança após o commit, e a
+ * listagem pré-serializada só é usada fora de transação. Ela é refeita em segundo
+ * plano, por isso as novidades aparecem na listagem completa com {@code await}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private CourseRepository courseRepository;
+
+    @Test
+    void conditionalGet_ShouldAnswer304WithoutRepository_UntilACourseIsCreated() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(courseRepository);
+
+        // Act & Assert - nada mudou
+        mockMvc.perform(get("/courses").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/courses/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(courseRepository);
+
+        // Act & Assert - um curso criado invalida o ETag
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Course(null, "HTTP Caching", "Web", 8))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/courses/1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        // A listagem segue no snapshot anterior, com o seu ETag, até a reconstrução terminar
+        await().atMost(Duration.ofSeconds(5)).until(() -> mockMvc.perform(get("/courses").header("If-None-Match", etag))
+                .andReturn().getResponse().getStatus() == 200);
+        String newEtag = mockMvc.perform(get("/courses").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void fullListing_ShouldServeGzipBytesThatFollowNewCourses() throws Exception {
+        // Arrange
+        String identity = mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] gzip = mockMvc.perform(get("/courses").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Course(null, "Compressão HTTP", "Web", 6))))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertThat(gunzip(gzip)).isEqualTo(identity);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            byte[] updated = mockMvc.perform(get("/courses").header("Accept-Encoding", "gzip"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertThat(gunzip(updated)).contains("Compressão HTTP");
+        });
+        assertThat(mockMvc.perform(get("/courses"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("Compressão HTTP");
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.dto.CategoryFacet;
+import com.catalog.courses.facets.CourseFacets;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.service.CourseImportService;
+import com.catalog.courses.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Sem {@code @Transactional}: os eventos só são entregues após o commit, então
+ * os cursos são de fato gravados e o contexto é descartado ao final.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class CourseFacetsIntegrationTest {
+
+    private static final String[] CATEGORIAS = {"Backend", "Frontend", "Dados", "DevOps", null};
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseImportService importService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseFacets courseFacets;
+
+    @Test
+    void facets_ShouldMatchFullRecomputationAfterCreatesAndImports() {
+        // Arrange
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            courseService.createCourse(randomCourse(random, i));
+        }
+        List<Course> batch = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            batch.add(randomCourse(random, 100 + i));
+        }
+        importService.importCourses(batch.iterator());
+
+        // Assert
+        List<CategoryFacet> expected = new ArrayList<>(courseRepository.aggregateByCategoria());
+        expected.sort(Comparator.comparing(CategoryFacet::getCategoria,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(courseFacets.getFacets()).hasValue(expected));
+    }
+
+    private static Course randomCourse(Random random, int i) {
+        return new Course(null, "Curso " + i, CATEGORIAS[random.nextInt(CATEGORIAS.length)], 1 + random.nextInt(120));
+    }
+}
@@ -3,6 +3,7 @@ package com.catalog.courses.integration;
 import com.catalog.courses.model.Course;
 import com.catalog.courses.repository.CourseRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -122,6 +123,24 @@ class CourseIntegrationTest {
         assert courseRepository.count() == 0;
     }
 
+    @Test
+    void rankCourses_ShouldMatchWithoutAccentsAndWithTypos() throws Exception {
+        // Arrange
+        courseRepository.save(new Course(null, "Introdução à Programação", "Programação", 40));
+        courseRepository.save(new Course(null, "Introdução ao Java", "Backend", 30));
+        courseRepository.save(new Course(null, "Python Intro", "Programação", 25));
+
+        // Act & Assert
+        mockMvc.perform(get("/courses/search").param("q", "introducao java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].titulo", is("Introdução ao Java")));
+
+        mockMvc.perform(get("/courses/search").param("q", "programacao intorducao").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].titulo", is("Introdução à Programação")));
+    }
+
     @Test
     void searchCourses_ShouldReturnEmptyList_WhenNoMatchesFound() throws Exception {
         // Arrange
@@ -132,4 +151,130 @@ class CourseIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCoursesPage_ShouldWalkCatalogWithCursor() throws Exception {
+        // Arrange
+        courseRepository.save(new Course(null, "Java Fundamentals", "Programação", 40));
+        courseRepository.save(new Course(null, "JavaScript Basics", "Frontend", 30));
+        Course last = courseRepository.save(new Course(null, "Java Avançado", "Programação", 60));
+
+        // Act & Assert - first page
+        String firstPage = mockMvc.perform(get("/courses").param("q", "java").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].titulo", is("Java Fundamentals")))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Act & Assert - second page
+        mockMvc.perform(get("/courses").param("q", "java").param("limit", "2").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(last.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void importCourses_ShouldPersistValidItemsAndReportFailures() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(java.util.List.of(
+                new Course(null, "Java Fundamentals", "Programação", 40),
+                new Course(null, "", "Programação", 10),
+                new Course(null, "Angular Basics", "Frontend", 0),
+                new Course(null, "Docker", "DevOps", 20)));
+
+        // Act & Assert
+        mockMvc.perform(post("/courses/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(4)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failures", hasSize(2)))
+                .andExpect(jsonPath("$.failures[0].index", is(1)))
+                .andExpect(jsonPath("$.failures[1].index", is(2)));
+
+        assert courseRepository.count() == 2;
+    }
+
+    @Test
+    void importCourses_ShouldAcceptNdjsonBody() throws Exception {
+        // Arrange
+        String body = "{\"titulo\":\"Java Fundamentals\",\"categoria\":\"Programação\",\"cargaHoraria\":40}\n"
+                + "{\"titulo\":\"Docker\",\"categoria\":\"DevOps\",\"cargaHoraria\":\"muitas\"}\n"
+                + "{\"titulo\":\"Kubernetes\",\"categoria\":\"DevOps\",\"cargaHoraria\":30}\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/courses/batch")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failures[0].index", is(1)));
+
+        mockMvc.perform(get("/courses").param("q", "kubernetes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void importCourses_ShouldAcceptSmileBody() throws Exception {
+        // Arrange
+        byte[] body = new SmileMapper().writeValueAsBytes(java.util.List.of(
+                new Course(null, "Java Fundamentals", "Programação", 40),
+                new Course(null, "", "Programação", 10),
+                new Course(null, "Kubernetes", "DevOps", 30)));
+
+        // Act & Assert
+        mockMvc.perform(post("/courses/batch")
+                .contentType("application/x-jackson-smile")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failures[0].index", is(1)));
+
+        assert courseRepository.count() == 2;
+    }
+
+    @Test
+    void getCourses_ShouldCombineTitleCategoriaAndHourRangeFilters() throws Exception {
+        // Arrange
+        courseRepository.save(new Course(null, "Java Fundamentals", "Programação", 40));
+        courseRepository.save(new Course(null, "JavaScript Basics", "Frontend", 30));
+        Course advanced = courseRepository.save(new Course(null, "Java Avançado", "Programação", 60));
+        Course spring = courseRepository.save(new Course(null, "Spring com Java", "Programação", 80));
+
+        // Act & Assert - list
+        mockMvc.perform(get("/courses")
+                        .param("q", "java")
+                        .param("categoria", "Programação")
+                        .param("minHoras", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].titulo", is("Java Avançado")))
+                .andExpect(jsonPath("$[1].titulo", is("Spring com Java")));
+
+        // Act & Assert - paged
+        mockMvc.perform(get("/courses")
+                        .param("categoria", "Programação")
+                        .param("minHoras", "41")
+                        .param("maxHoras", "100")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(advanced.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor", is(advanced.getId().intValue())));
+        mockMvc.perform(get("/courses")
+                        .param("categoria", "Programação")
+                        .param("minHoras", "41")
+                        .param("limit", "1")
+                        .param("after", advanced.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(spring.getId().intValue())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+}
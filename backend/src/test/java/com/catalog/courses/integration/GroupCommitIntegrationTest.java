@@ -0,0 +1,96 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.event.CourseEventStore;
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.service.CourseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Criações concorrentes com group commit ligado, contra o H2 de verdade: cada
+ * chamador recebe o próprio curso, o inválido recebe o próprio erro e os eventos
+ * saem um por curso gravado.
+ */
+@SpringBootTest(properties = {
+        "catalog.write.group-commit.enabled=true",
+        "catalog.write.group-commit.max-wait=100ms"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class GroupCommitIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEventStore eventStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void createCourse_ShouldGroupConcurrentWritesAndIsolateTheInvalidOne() throws Exception {
+        // Arrange
+        long countBefore = courseRepository.count();
+        long lastSequence = eventStore.lastSequence();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Course>> futures = new ArrayList<>();
+
+        // Act
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 12; i++) {
+                Course course = new Course(null, i == 5 ? "" : "Grupo " + i, "Programação", 10 + i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return courseService.createCourse(course);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Assert
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            if (i == 5) {
+                assertThatThrownBy(futures.get(i)::get)
+                        .isInstanceOf(ExecutionException.class)
+                        .hasRootCauseInstanceOf(ConstraintViolationException.class);
+                continue;
+            }
+            Course saved = futures.get(i).get();
+            assertThat(saved.getTitulo()).isEqualTo("Grupo " + i);
+            ids.add(saved.getId());
+        }
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(courseRepository.count()).isEqualTo(countBefore + 11);
+        assertThat(meterRegistry.get("catalog.write.group.size").summary().max()).isGreaterThan(1);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(eventStore.read(lastSequence, 100))
+                        .extracting(StoredCourseEvent::getCourse)
+                        .extracting(Course::getId)
+                        .containsExactlyInAnyOrderElementsOf(ids));
+    }
+}
@@ -0,0 +1,77 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.event.CourseEventStore;
+import com.catalog.courses.idempotency.IdempotencyStore;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repetição de {@code POST /courses} com a mesma {@code Idempotency-Key}: um único
+ * curso gravado e um único evento publicado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEventStore eventStore;
+
+    @Test
+    void createCourse_ShouldPersistAndPublishOnce_WhenRetriedWithSameKey() throws Exception {
+        // Arrange
+        long countBefore = courseRepository.count();
+        long lastSequence = eventStore.lastSequence();
+        String body = objectMapper.writeValueAsString(new Course(null, "Retentativas Seguras", "Backend", 12));
+
+        // Act
+        String created = mockMvc.perform(post("/courses")
+                        .header(IdempotencyStore.HEADER, "retentativa-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, Course.class).getId();
+        mockMvc.perform(post("/courses")
+                        .header(IdempotencyStore.HEADER, "retentativa-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(id));
+
+        // Assert
+        assertThat(courseRepository.count()).isEqualTo(countBefore + 1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> eventStore.lastSequence() == lastSequence + 1);
+        Thread.sleep(200);
+        assertThat(eventStore.lastSequence()).isEqualTo(lastSequence + 1);
+    }
+}
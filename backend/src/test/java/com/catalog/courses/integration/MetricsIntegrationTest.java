@@ -0,0 +1,51 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeLayerTimersAndPoolMetrics() throws Exception {
+        // Arrange
+        courseRepository.save(new Course(null, "Observabilidade", "DevOps", 20));
+
+        // Act
+        mockMvc.perform(get("/courses").param("q", "Observ")).andExpect(status().isOk());
+
+        // Assert
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape)
+                .contains("catalog_controller_seconds_bucket{operation=\"list\"")
+                .contains("catalog_service_seconds_count{operation=\"search\"")
+                .contains("catalog_repository_seconds_count{operation=\"save\",repository=\"CourseRepository\"")
+                .contains("catalog_search_results_cursos_count")
+                .contains("catalog_events_publish_seconds")
+                .contains("hikaricp_connections_acquire_seconds_bucket");
+    }
+}
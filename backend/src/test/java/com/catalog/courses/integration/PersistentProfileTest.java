@@ -0,0 +1,79 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.CoursesApplication;
+import com.catalog.courses.event.CourseEventListener;
+import com.catalog.courses.event.StoredCourseEvent;
+import com.catalog.courses.event.log.CourseEventLog;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.service.CourseService;
+import com.catalog.courses.persistence.CatalogCheckpoint;
+import com.catalog.courses.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentProfileTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void restart_ShouldKeepCatalogWithoutReseeding() {
+        // Arrange
+        Long createdId;
+        try (ConfigurableApplicationContext app = start()) {
+            CourseRepository repository = app.getBean(CourseRepository.class);
+            assertThat(repository.count()).isEqualTo(20);
+            createdId = repository.save(new Course(null, "Persistência em H2", "Banco de Dados", 12)).getId();
+            app.getBean(CatalogCheckpoint.class).checkpoint();
+        }
+
+        // Act
+        try (ConfigurableApplicationContext app = start()) {
+            CourseRepository repository = app.getBean(CourseRepository.class);
+            Long nextId = repository.save(new Course(null, "Depois do reinício", "Banco de Dados", 8)).getId();
+
+            // Assert
+            assertThat(repository.findProjectedById(createdId)).isPresent();
+            assertThat(app.getBean(JdbcTemplate.class)
+                    .queryForObject("SELECT COUNT(*) FROM course WHERE id <= 20", Integer.class)).isEqualTo(20);
+            assertThat(repository.count()).isEqualTo(22);
+            assertThat(nextId).isGreaterThan(createdId);
+        }
+    }
+
+    @Test
+    void restart_ShouldKeepEventHistoryAndContinueSequence() {
+        // Arrange
+        try (ConfigurableApplicationContext app = start()) {
+            app.getBean(CourseService.class).createCourse(new Course(null, "Evento antes", "Eventos", 4));
+            // O evento já está no log quando a criação retorna, sem esperar a entrega assíncrona
+            assertThat(app.getBean(CourseEventLog.class).lastSequence()).isEqualTo(1);
+        }
+
+        // Act
+        try (ConfigurableApplicationContext app = start()) {
+            app.getBean(CourseService.class).createCourse(new Course(null, "Evento depois", "Eventos", 4));
+            CourseEventListener listener = app.getBean(CourseEventListener.class);
+
+            // Assert
+            assertThat(listener.getEvents(0, 10)).extracting(StoredCourseEvent::getSequence).containsExactly(1L, 2L);
+            assertThat(listener.getEvents(1, 10).get(0).getCourse().getTitulo()).isEqualTo("Evento depois");
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CoursesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "persistent")
+                .run("--catalog.persistence.path=" + dataDir.resolve("catalog"),
+                        "--catalog.search.index.background=false");
+    }
+}
@@ -0,0 +1,87 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseCache;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.persistence.routing.LocalReplication;
+import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.service.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Cache de leitura ligado com uma réplica atrasada: uma leitura entre a
+ * invalidação do cache e o incremento da versão do catálogo ainda vai à réplica,
+ * que não tem o commit, e esse resultado não pode ficar no cache.
+ */
+@SpringBootTest(properties = "catalog.datasource.replicas.lag=1s")
+@ActiveProfiles({"test", "replicas"})
+@DirtiesContext
+class ReplicaCacheIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private LocalReplication localReplication;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void waitForReplica() {
+        await().atMost(Duration.ofSeconds(10)).until(() -> localReplication.isCaughtUp(0));
+    }
+
+    @Test
+    void readBetweenInvalidationAndBump_ShouldNotCacheTheLaggingReplicaResult() {
+        // Arrange
+        String before = courseService.findCourseById(1L).orElseThrow().getTitulo();
+        AtomicReference<CourseDTO> between = new AtomicReference<>();
+
+        // Act: mesma ordem de CourseService, com uma leitura entre as duas sincronizações
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Course course = courseRepository.findById(1L).orElseThrow();
+            course.setTitulo("Título Depois do Commit");
+            courseCache.invalidateAfterCommit(List.of(courseRepository.save(course)));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    between.set(CompletableFuture.supplyAsync(() -> courseService.findCourseById(1L).orElseThrow())
+                            .join());
+                }
+            });
+            catalogVersion.bumpAfterCommit();
+        });
+
+        // Assert: a leitura do meio foi à réplica atrasada; a seguinte não a recebe do cache
+        assertThat(between.get().getTitulo()).isEqualTo(before);
+        assertThat(courseService.findCourseById(1L).orElseThrow().getTitulo()).isEqualTo("Título Depois do Commit");
+    }
+}
@@ -0,0 +1,127 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.model.Course;
+import com.catalog.courses.persistence.routing.LocalReplication;
+import com.catalog.courses.persistence.routing.ReplicaRoutingDataSource;
+import com.catalog.courses.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primário e réplica em duas instâncias H2; a réplica aplica as escritas com
+ * atraso para que a leitura logo após a criação precise ir ao primário.
+ */
+@SpringBootTest(properties = {
+        "catalog.datasource.replicas.lag=1s",
+        "catalog.cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replicas"})
+@DirtiesContext
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private LocalReplication localReplication;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void waitForReplica() {
+        replica = new JdbcTemplate(routingDataSource.getReplicas().get(0));
+        await().atMost(Duration.ofSeconds(10)).until(() -> localReplication.isCaughtUp(0));
+    }
+
+    @Test
+    void reads_ShouldUseCaughtUpReplicaAndWritesThePrimary() throws Exception {
+        // Arrange
+        double replicaReads = routeCount("replica-0", "read-only");
+        double primaryWrites = routeCount("primary", "read-write");
+
+        // Act
+        mockMvc.perform(get("/courses/{id}", 1)).andExpect(status().isOk());
+        courseRepository.save(new Course(null, "Roteamento de Leituras", "Banco de Dados", 6));
+
+        // Assert
+        assertThat(routeCount("replica-0", "read-only")).isGreaterThan(replicaReads);
+        assertThat(routeCount("primary", "read-write")).isGreaterThan(primaryWrites);
+        assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-0").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge()).isNotNull();
+    }
+
+    @Test
+    void readAfterCreate_ShouldSeeNewCourseBeforeReplicaAppliesIt() throws Exception {
+        // Arrange
+        double primaryReads = routeCount("primary", "read-only");
+        String body = mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Course(null, "Réplicas em H2", "Banco de Dados", 9))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readValue(body, Course.class).getId();
+
+        // Act & Assert - a réplica ainda não tem o curso, então a leitura vai ao primário
+        mockMvc.perform(get("/courses/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Réplicas em H2"));
+        assertThat(routeCount("primary", "read-only")).isGreaterThan(primaryReads);
+
+        // Act & Assert - aplicado o atraso, a réplica alcança o primário
+        await().atMost(Duration.ofSeconds(10)).until(() -> localReplication.isCaughtUp(0));
+        assertThat(replica.queryForObject("SELECT titulo FROM course WHERE id = ?", String.class, id))
+                .isEqualTo("Réplicas em H2");
+    }
+
+    @Test
+    void delete_ShouldReachReplica() {
+        // Arrange
+        Long id = courseRepository.save(new Course(null, "Curso Removido", "Banco de Dados", 3)).getId();
+        await().atMost(Duration.ofSeconds(10)).until(() -> localReplication.isCaughtUp(0));
+
+        // Act
+        courseRepository.deleteById(id);
+
+        // Assert
+        assertThat(localReplication.isCaughtUp(0)).isFalse();
+        await().atMost(Duration.ofSeconds(10)).until(() -> localReplication.isCaughtUp(0));
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM course WHERE id = ?", Integer.class, id)).isZero();
+    }
+
+    private double routeCount(String pool, String transaction) {
+        return meterRegistry.get("catalog.datasource.route").tag("pool", pool).tag("transaction", transaction)
+                .counter().count();
+    }
+}
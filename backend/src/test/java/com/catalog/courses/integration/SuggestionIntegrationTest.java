@@ -0,0 +1,151 @@
+package com.catalog.courses.integration;
+
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.model.Course;
+import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.search.CourseSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sem {@code @Transactional}: as sugestões e a troca de título no índice só
+ * acontecem após o commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class SuggestionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    @Test
+    void suggestTitles_ShouldFollowCommittedCoursesOnly() throws Exception {
+        // Arrange - um curso criado e desfeito não vira sugestão
+        transactionTemplate.executeWithoutResult(status -> {
+            courseRepository.saveAndFlush(new Course(null, "Kotlin Multiplataforma Avançado", "Mobile", 30));
+            status.setRollbackOnly();
+        });
+
+        // Act
+        mockMvc.perform(post("/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Course(null, "Kotlin Multiplataforma", "Mobile", 20))))
+                .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/courses/suggest").param("prefix", "multipla"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("Kotlin Multiplataforma")));
+        mockMvc.perform(get("/courses/suggest").param("prefix", "kotlin múlti"))
+                .andExpect(jsonPath("$", contains("Kotlin Multiplataforma")));
+
+        // Act & Assert - removido, some das sugestões
+        courseRepository.deleteAllById(courseRepository.findByTituloContaining("Multiplataforma").stream()
+                .map(CourseDTO::getId)
+                .toList());
+        mockMvc.perform(get("/courses/suggest").param("prefix", "multipla"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void updateCourse_ShouldReplaceOldTitleInSearchIndex() {
+        // Arrange
+        Course course = courseRepository.save(new Course(null, "Elixir Essencial", "Backend", 12));
+        long indexed = searchIndex.findCandidates("Essencial").orElseThrow().length;
+
+        // Act
+        course.setTitulo("Elixir Distribuído");
+        courseRepository.save(course);
+
+        // Assert
+        assertThat(searchIndex.findCandidates("Essencial").orElseThrow()).doesNotContain(course.getId());
+        assertThat(searchIndex.findCandidates("Distribuído").orElseThrow()).containsExactly(course.getId());
+        assertThat(indexed).isEqualTo(1);
+    }
+
+    @Test
+    void updateCourse_ShouldKeepCommittedTitleAndCategory_WhenEditRollsBack() {
+        // Arrange
+        long id = courseRepository.save(new Course(null, "Clojure Funcional", "Backend", 14)).getId();
+
+        // Act - título e categoria desfeitos, depois só a categoria
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findById(id).orElseThrow();
+            course.setTitulo("Haskell Preguiçoso");
+            course.setCategoria("Gastronomia Molecular");
+            courseRepository.saveAndFlush(course);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findById(id).orElseThrow();
+            course.setCategoria("Confeitaria Artesanal");
+            courseRepository.saveAndFlush(course);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(searchIndex.findCandidates("Haskell").orElseThrow()).doesNotContain(id);
+        assertThat(searchIndex.rank("haskell preguicoso", 10).orElseThrow()).doesNotContain(id);
+        assertThat(searchIndex.rank("gastronomia molecular", 10).orElseThrow()).doesNotContain(id);
+        assertThat(searchIndex.rank("confeitaria artesanal", 10).orElseThrow()).doesNotContain(id);
+        assertThat(searchIndex.rank("clojure funcional", 10).orElseThrow()).startsWith(id);
+    }
+
+    @Test
+    void updateCourse_ShouldReplaceSuggestion_OnlyAfterCommit() {
+        // Arrange - criado e renomeado na mesma transação
+        long id = transactionTemplate.execute(status -> {
+            Course course = courseRepository.saveAndFlush(new Course(null, "Zig Embarcado", "Sistemas", 16));
+            course.setTitulo("Zig Concorrente");
+            return courseRepository.saveAndFlush(course).getId();
+        });
+
+        // Act - uma renomeação desfeita e outra confirmada
+        transactionTemplate.executeWithoutResult(status -> {
+            Course course = courseRepository.findById(id).orElseThrow();
+            course.setTitulo("Zig Descartado");
+            courseRepository.saveAndFlush(course);
+            status.setRollbackOnly();
+        });
+        Course course = courseRepository.findById(id).orElseThrow();
+        course.setTitulo("Zig Comptime");
+        courseRepository.save(course);
+
+        // Assert
+        assertThat(searchIndex.suggest("zig", 10).orElseThrow()).containsExactly("Zig Comptime");
+
+        // Act & Assert - removido, nenhuma das versões sobra
+        courseRepository.deleteById(id);
+        assertThat(searchIndex.suggest("zig", 10).orElseThrow()).isEmpty();
+    }
+}
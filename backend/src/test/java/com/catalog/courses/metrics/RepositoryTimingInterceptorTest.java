@@ -0,0 +1,80 @@
+package com.catalog.courses.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryTimingInterceptorTest {
+
+    interface SampleRepository {
+        String findByTitulo(String titulo);
+
+        long count();
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void invoke_ShouldRecordOneTimerPerMethod() {
+        // Arrange
+        SampleRepository repository = proxy(new SampleRepository() {
+            @Override
+            public String findByTitulo(String titulo) {
+                return titulo;
+            }
+
+            @Override
+            public long count() {
+                return 42;
+            }
+        });
+
+        // Act
+        repository.findByTitulo("Java");
+        repository.findByTitulo("Spring");
+        long count = repository.count();
+
+        // Assert
+        assertThat(count).isEqualTo(42);
+        assertThat(timer("findByTitulo").count()).isEqualTo(2);
+        assertThat(timer("count").count()).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_ShouldRecordFailedCalls() {
+        // Arrange
+        SampleRepository repository = proxy(new SampleRepository() {
+            @Override
+            public String findByTitulo(String titulo) {
+                throw new IllegalStateException("falha");
+            }
+
+            @Override
+            public long count() {
+                return 0;
+            }
+        });
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.findByTitulo("Java")).isInstanceOf(IllegalStateException.class);
+        assertThat(timer("findByTitulo").count()).isEqualTo(1);
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(SampleRepository.class);
+        factory.addAdvice(new RepositoryTimingInterceptor(meterRegistry, "SampleRepository"));
+        return (SampleRepository) factory.getProxy();
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get(CatalogMetrics.REPOSITORY)
+                .tag("repository", "SampleRepository")
+                .tag("operation", operation)
+                .timer();
+    }
+}
@@ -0,0 +1,98 @@
+package com.catalog.courses.persistence.routing;
+
+import com.catalog.courses.cache.CatalogVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Primário e réplica em dois H2 em memória, cada um com uma "posição" que o teste avança. */
+class ReplicaPositionProbeTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaPositionProbe probe;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("probe-primary");
+        replica = database("probe-replica");
+        probe = new ReplicaPositionProbe(catalogVersion, List.of("replica-0"), "SELECT lsn FROM wal",
+                "SELECT lsn FROM wal", Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.execute("DROP TABLE wal");
+        replica.execute("DROP TABLE wal");
+    }
+
+    @Test
+    void probe_ShouldMarkReplicaCaughtUp_OnlyWhenItReachedThePrimaryPosition() {
+        // Arrange
+        catalogVersion.bump();
+        setPosition(primary, 20);
+        setPosition(replica, 10);
+
+        // Act & Assert - atrás do primário
+        probe.probe(primary, List.of(replica));
+        assertThat(probe.isCaughtUp(0)).isFalse();
+        assertThat(probe.appliedVersion(0)).isEqualTo(-1);
+
+        // Act & Assert - alcançou a posição lida do primário
+        setPosition(replica, 20);
+        probe.probe(primary, List.of(replica));
+        assertThat(probe.isCaughtUp(0)).isTrue();
+
+        // Act & Assert - uma nova escrita confirmada só vale depois da próxima sondagem
+        catalogVersion.bump();
+        assertThat(probe.isCaughtUp(0)).isFalse();
+    }
+
+    @Test
+    void probe_ShouldStopRoutingToReplica_WhenItCannotBeRead() {
+        // Arrange
+        setPosition(primary, 5);
+        setPosition(replica, 5);
+        probe.probe(primary, List.of(replica));
+        assertThat(probe.isCaughtUp(0)).isTrue();
+
+        // Act
+        replica.execute("DROP TABLE wal");
+        probe.probe(primary, List.of(replica));
+        replica.execute("CREATE TABLE wal (lsn BIGINT)");
+
+        // Assert
+        assertThat(probe.isCaughtUp(0)).isFalse();
+    }
+
+    @Test
+    void requireInMemory_ShouldRefuseReplicasOutsideInMemoryH2() {
+        LocalReplication.requireInMemory(List.of("jdbc:h2:mem:replica0;DB_CLOSE_DELAY=-1"));
+
+        assertThatThrownBy(() -> LocalReplication.requireInMemory(
+                List.of("jdbc:h2:mem:replica0", " jdbc:postgresql://replica:5432/catalog")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("jdbc:postgresql://replica:5432/catalog");
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE wal (lsn BIGINT)");
+        return jdbc;
+    }
+
+    private static void setPosition(JdbcTemplate database, long lsn) {
+        database.update("DELETE FROM wal");
+        database.update("INSERT INTO wal VALUES (?)", lsn);
+    }
+}
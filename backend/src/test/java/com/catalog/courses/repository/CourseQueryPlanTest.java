@@ -0,0 +1,77 @@
+package com.catalog.courses.repository;
+
+import com.catalog.courses.dto.CourseFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere, com EXPLAIN sobre o SQL realmente gerado pelo Hibernate, que os
+ * filtros por categoria e carga horária usam índice em vez de varrer a tabela.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.catalog.courses.repository.CourseQueryPlanTest$LastStatement")
+class CourseQueryPlanTest {
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void categoriaAndHourRange_ShouldUseCompositeIndex() {
+        // Act
+        String plan = planOf(new CourseFilter("Programação", 20, 60), null, "Programação", 20, 60);
+
+        // Assert
+        assertThat(plan).contains("IDX_COURSE_CATEGORIA_CARGA").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void hourRangeOnly_ShouldUseCargaHorariaIndex() {
+        // Act
+        String plan = planOf(new CourseFilter(null, 20, 60), null, 20, 60);
+
+        // Assert
+        assertThat(plan).contains("IDX_COURSE_CARGA").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void categoriaWithTitle_ShouldUseCategoriaIndex() {
+        // Act
+        String plan = planOf(new CourseFilter("Programação", null, null), "java", "Programação", "%JAVA%");
+
+        // Assert
+        assertThat(plan).contains("IDX_COURSE_CATEGORIA_CARGA").doesNotContain(TABLE_SCAN);
+    }
+
+    private String planOf(CourseFilter filter, String q, Object... parameters) {
+        courseRepository.findAll(CourseSpecifications.matching(q, filter, null), Sort.by("id"));
+        String sql = LastStatement.sql;
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + sql);
+        for (int i = 0; i < parameters.length; i++) {
+            explain.setParameter(i + 1, parameters[i]);
+        }
+        return String.valueOf(explain.getSingleResult());
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+}
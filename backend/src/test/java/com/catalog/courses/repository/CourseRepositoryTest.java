@@ -1,14 +1,20 @@
 package com.catalog.courses.repository;
 
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.dto.CourseFilter;
 import com.catalog.courses.model.Course;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,29 +46,29 @@ class CourseRepositoryTest {
     @Test
     void findByTituloContaining_ShouldReturnMatchingCourses_CaseInsensitive() {
         // Act
-        List<Course> result = courseRepository.findByTituloContaining("java");
+        List<CourseDTO> result = courseRepository.findByTituloContaining("java");
 
         // Assert
         assertThat(result).hasSize(2);
-        assertThat(result).extracting(Course::getTitulo)
+        assertThat(result).extracting(CourseDTO::getTitulo)
                 .containsExactlyInAnyOrder("Java Fundamentals", "Advanced Java");
     }
 
     @Test
     void findByTituloContaining_ShouldReturnMatchingCourses_UpperCase() {
         // Act
-        List<Course> result = courseRepository.findByTituloContaining("JAVA");
+        List<CourseDTO> result = courseRepository.findByTituloContaining("JAVA");
 
         // Assert
         assertThat(result).hasSize(2);
-        assertThat(result).extracting(Course::getTitulo)
+        assertThat(result).extracting(CourseDTO::getTitulo)
                 .containsExactlyInAnyOrder("Java Fundamentals", "Advanced Java");
     }
 
     @Test
     void findByTituloContaining_ShouldReturnMatchingCourses_PartialMatch() {
         // Act
-        List<Course> result = courseRepository.findByTituloContaining("Fund");
+        List<CourseDTO> result = courseRepository.findByTituloContaining("Fund");
 
         // Assert
         assertThat(result).hasSize(1);
@@ -72,7 +78,7 @@ class CourseRepositoryTest {
     @Test
     void findByTituloContaining_ShouldReturnEmptyList_WhenNoMatch() {
         // Act
-        List<Course> result = courseRepository.findByTituloContaining("NonExistent");
+        List<CourseDTO> result = courseRepository.findByTituloContaining("NonExistent");
 
         // Assert
         assertThat(result).isEmpty();
@@ -108,4 +114,78 @@ class CourseRepositoryTest {
         assertThat(foundCourse).isNotNull();
         assertThat(foundCourse.getTitulo()).isEqualTo("React Basics");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByIdGreaterThanOrderByIdAsc_ShouldSeekPastCursor() {
+        // Act
+        List<CourseDTO> firstPage = courseRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(2));
+        List<CourseDTO> secondPage = courseRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(1).getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(CourseDTO::getTitulo).containsExactly("Java Fundamentals", "Advanced Java");
+        assertThat(secondPage).extracting(CourseDTO::getTitulo).containsExactly("Python Basics");
+    }
+
+    @Test
+    void findByTituloContainingAfter_ShouldFilterAndSeekPastCursor() {
+        // Act
+        List<CourseDTO> result = courseRepository.findByTituloContainingAfter("java", course1.getId(), Limit.of(10));
+
+        // Assert
+        assertThat(result).extracting(CourseDTO::getTitulo).containsExactly("Advanced Java");
+    }
+
+    @Test
+    void streamAll_ShouldReturnAllCoursesOrderedById() {
+        // Act
+        List<String> titles;
+        try (Stream<CourseDTO> stream = courseRepository.streamAll()) {
+            titles = stream.map(CourseDTO::getTitulo).toList();
+        }
+
+        // Assert
+        assertThat(titles).containsExactly("Java Fundamentals", "Advanced Java", "Python Basics");
+    }
+
+    @Test
+    void findAll_WithSpecification_ShouldCombineTitleCategoriaAndHourRange() {
+        // Arrange
+        entityManager.persistAndFlush(new Course(null, "Java para Web", "Backend", 50));
+
+        // Act
+        List<Course> programacao = courseRepository.findAll(
+                CourseSpecifications.matching(null, new CourseFilter("Programação", 36, 60), null), Sort.by("id"));
+        List<Course> javaAbove45 = courseRepository.findAll(
+                CourseSpecifications.matching("java", new CourseFilter(null, 45, null), null), Sort.by("id"));
+
+        // Assert
+        assertThat(programacao).extracting(Course::getTitulo).containsExactly("Java Fundamentals", "Advanced Java");
+        assertThat(javaAbove45).extracting(Course::getTitulo).containsExactly("Advanced Java", "Java para Web");
+    }
+
+    @Test
+    void findProjected_ShouldApplySpecificationAndLimitInIdOrder() {
+        // Act
+        List<CourseDTO> result = courseRepository.findProjected(
+                CourseSpecifications.matching("java", new CourseFilter("Programação", null, null), null), 1);
+
+        // Assert
+        assertThat(result).containsExactly(
+                new CourseDTO(course1.getId(), "Java Fundamentals", "Programação", 40));
+    }
+
+    @Test
+    void projections_ShouldNotLoadEntitiesIntoPersistenceContext() {
+        // Arrange
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        // Act
+        courseRepository.findAllProjected();
+        courseRepository.findProjectedById(course1.getId());
+        courseRepository.findProjectedByIdIn(List.of(course1.getId(), course2.getId()));
+
+        // Assert
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package com.catalog.courses.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelevanceIndexTest {
+
+    private RelevanceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RelevanceIndex(0.3f);
+        index.add(1L, "Introdução ao Java", "Programação");
+        index.add(2L, "Java Avançado: Concorrência e Streams", "Programação");
+        index.add(3L, "Introdução ao Angular", "Frontend");
+        index.add(4L, "Docker para Desenvolvedores", "DevOps");
+        index.add(5L, "API REST com Spring Boot", "Backend");
+    }
+
+    @Test
+    void fold_ShouldStripAccentsAndPunctuation() {
+        assertThat(RelevanceIndex.fold("Introdução  ao Java!")).isEqualTo(" INTRODUCAO AO JAVA ");
+        assertThat(RelevanceIndex.fold("Segurança/Web")).isEqualTo(" SEGURANCA WEB ");
+        assertThat(RelevanceIndex.fold(null)).isEqualTo(" ");
+    }
+
+    @Test
+    void search_ShouldIgnoreAccents() {
+        assertThat(index.search("introducao", 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("concorrencia", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void search_ShouldTolerateTypos() {
+        assertThat(index.search("intorducao java", 10)).startsWith(1L);
+        assertThat(index.search("dokcer", 10)).containsExactly(4L);
+        assertThat(index.search("kubernetes", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldRankBestCoverageAndShorterTitlesFirst() {
+        assertThat(index.search("java", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("introducao angular", 10)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void search_ShouldCombineTitleAndCategory() {
+        // Arrange
+        index.add(6L, "Spring Data JPA", "Backend");
+
+        // Act & Assert
+        assertThat(index.search("spring backend", 10)).containsExactly(5L, 6L);
+        assertThat(index.search("backend", 10)).containsExactly(5L, 6L);
+    }
+
+    @Test
+    void search_ShouldKeepOnlyTopK() {
+        // Arrange
+        for (long id = 10; id < 1010; id++) {
+            index.add(id, "Java módulo " + id, "Programação");
+        }
+
+        // Act
+        long[] top = index.search("java modulo 500", 3);
+
+        // Assert
+        assertThat(top).hasSize(3).startsWith(500L);
+    }
+
+    @Test
+    void search_ShouldMatchExhaustiveRanking_WhenStoppingEarly() {
+        // Arrange
+        String[] topics = {"Segurança", "Kubernetes", "Arquitetura", "Dados"};
+        for (long id = 10; id < 20010; id++) {
+            index.add(id, topics[(int) (id % topics.length)] + " módulo " + id, "Categoria " + id % 7);
+        }
+
+        // Act
+        long[] early = index.search("seguranca modulo 4240", 5);
+        long[] exhaustive = index.search("seguranca modulo 4240", 25000);
+
+        // Assert
+        assertThat(early).startsWith(4240L).containsExactly(Arrays.copyOf(exhaustive, 5));
+    }
+
+    @Test
+    void remove_ShouldHideCourseAndReaddReplacesText() {
+        // Act
+        index.remove(4L);
+        index.add(1L, "Kotlin para Android", "Mobile");
+
+        // Assert
+        assertThat(index.search("docker", 10)).isEmpty();
+        assertThat(index.search("introducao", 10)).containsExactly(3L);
+        assertThat(index.search("kotlin", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,167 @@
+package com.catalog.courses.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.add("Introdução ao Java");
+        trie.add("Java Avançado: Concorrência e Streams");
+        trie.add("JavaScript Moderno");
+        trie.add("Introdução ao Angular");
+        trie.add("Docker para Desenvolvedores");
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordPrefixWithoutAccents() {
+        assertThat(trie.suggest("jav", 10)).containsExactly(
+                "Introdução ao Java", "JavaScript Moderno", "Java Avançado: Concorrência e Streams");
+        assertThat(trie.suggest("concorrê", 10)).containsExactly("Java Avançado: Concorrência e Streams");
+        assertThat(trie.suggest("kotlin", 10)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_ShouldRequireEarlierWordsAndUseLastAsPrefix() {
+        assertThat(trie.suggest("introducao ao j", 10)).containsExactly("Introdução ao Java");
+        assertThat(trie.suggest("ao an", 10)).containsExactly("Introdução ao Angular");
+        assertThat(trie.suggest("docker jav", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_ShouldKeepOnlyTheShortestTitlesPerPrefix() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            trie.add("Java módulo " + i);
+        }
+
+        // Act & Assert
+        assertThat(trie.suggest("java", 3)).containsExactly("Java módulo 0", "Java módulo 1", "Java módulo 2");
+        assertThat(trie.suggest("modulo 99", 3)).containsExactly("Java módulo 99", "Java módulo 990", "Java módulo 991");
+        assertThat(trie.suggest("j", SuggestionTrie.MAX_SUGGESTIONS)).hasSize(SuggestionTrie.MAX_SUGGESTIONS);
+    }
+
+    @Test
+    void suggest_ShouldScanRarestWord_WhenNodeListsAreNotEnough() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            trie.add("Java módulo " + i);
+            trie.add("Python módulo " + i);
+        }
+
+        // Act & Assert
+        assertThat(trie.suggest("python 9", 3)).containsExactly("Python módulo 9", "Python módulo 90", "Python módulo 91");
+        assertThat(trie.suggest("modulo python 99", 2)).containsExactly("Python módulo 99", "Python módulo 990");
+        assertThat(trie.suggest("java java", 5)).containsExactly(
+                "Java módulo 0", "Java módulo 1", "Java módulo 2", "Java módulo 3", "Java módulo 4");
+    }
+
+    @Test
+    void hasWordStartingWith_ShouldFoldCharactersLikeFold() {
+        assertThat(SuggestionTrie.hasWordStartingWith("Introdução à Programação", "PROGRAMACAO")).isTrue();
+        assertThat(SuggestionTrie.hasWordStartingWith("Introdução à Programação", "A")).isTrue();
+        assertThat(SuggestionTrie.hasWordStartingWith("Introdução", "DUCAO")).isFalse();
+        assertThat(SuggestionTrie.hasWordStartingWith("Ωmega Ψ", "ΨΩ")).isFalse();
+    }
+
+    @Test
+    void remove_ShouldHideTitleOnlyWhenNoCourseUsesIt() {
+        // Arrange
+        trie.add("Docker para Desenvolvedores");
+
+        // Act & Assert
+        trie.remove("Docker para Desenvolvedores");
+        assertThat(trie.suggest("dock", 10)).containsExactly("Docker para Desenvolvedores");
+        trie.remove("Docker para Desenvolvedores");
+        assertThat(trie.suggest("dock", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(4);
+
+        trie.add("Docker para Desenvolvedores");
+        assertThat(trie.suggest("desenv", 10)).containsExactly("Docker para Desenvolvedores");
+    }
+
+    @Test
+    void add_ShouldOfferHiddenTitleAgain_WhenItWasPrunedFromTheLists() {
+        // Arrange: "Go" é escondido e depois sai das listas, empurrado por 20 títulos
+        trie.add("Go");
+        trie.remove("Go");
+        for (int i = 10; i < 10 + SuggestionTrie.MAX_SUGGESTIONS; i++) {
+            trie.add("Go " + i);
+        }
+
+        // Act
+        trie.add("Go");
+
+        // Assert
+        assertThat(trie.suggest("go", 2)).containsExactly("Go", "Go 10");
+        assertThat(trie.suggest("g", 1)).containsExactly("Go");
+    }
+
+    @Test
+    void suggest_ShouldMatchFullScan_WithDeepListsOnLargeSubtrees() {
+        // Arrange: cada palavra em menos de DEEP_THRESHOLD títulos, "D" com mais
+        List<String> titles = addRandomTitles(2 * SuggestionTrie.DEEP_THRESHOLD);
+
+        // Act & Assert
+        for (String prefix : List.of("java 1", "spring d", "web java 2", "dados 11", "python python 3")) {
+            assertThat(trie.suggest(prefix, 10)).as(prefix).containsExactlyElementsOf(scan(titles, prefix, 10));
+        }
+    }
+
+    @Test
+    void suggest_ShouldReturnMatchesInOrder_WhenEveryCandidateSetIsAboveTheThreshold() {
+        // Arrange: palavras e prefixos em mais de DEEP_THRESHOLD títulos cada
+        List<String> titles = addRandomTitles(5 * SuggestionTrie.DEEP_THRESHOLD);
+
+        // Act & Assert: a busca é limitada, então só se exige que acerte os filtros e a ordem
+        for (String prefix : List.of("java 1", "spring d", "web java 2", "dados 11")) {
+            List<String> suggestions = trie.suggest(prefix, 10);
+            List<String> matching = scan(titles, prefix, Integer.MAX_VALUE);
+            assertThat(suggestions).as(prefix).isNotEmpty().isSubsetOf(matching);
+            assertThat(suggestions).as(prefix)
+                    .isSortedAccordingTo(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        }
+    }
+
+    private List<String> addRandomTitles(int count) {
+        String[] words = {"Java", "Spring", "Python", "Docker", "Dados", "Web"};
+        Random random = new Random(7);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String titulo = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+            titles.add(titulo);
+            trie.add(titulo);
+        }
+        return titles;
+    }
+
+    /** Resposta esperada por força bruta: palavras completas inteiras, a última como prefixo. */
+    private static List<String> scan(List<String> titles, String prefix, int k) {
+        String[] query = RelevanceIndex.fold(prefix).trim().split(" ");
+        return titles.stream()
+                .filter(titulo -> {
+                    List<String> titleWords = List.of(RelevanceIndex.fold(titulo).trim().split(" "));
+                    for (int i = 0; i < query.length - 1; i++) {
+                        if (!titleWords.contains(query[i])) {
+                            return false;
+                        }
+                    }
+                    return titleWords.stream().anyMatch(word -> word.startsWith(query[query.length - 1]));
+                })
+                .sorted(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+                .limit(k)
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.catalog.courses.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.add(1L, "Java Fundamentals");
+        index.add(2L, "Advanced Java");
+        index.add(3L, "Python Basics");
+    }
+
+    @Test
+    void search_ShouldReturnCandidatesContainingQuery_CaseInsensitive() {
+        assertThat(index.search("java")).containsExactly(1L, 2L);
+        assertThat(index.search("BASICS")).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldReturnEmpty_WhenAnyTrigramIsMissing() {
+        assertThat(index.search("Kotlin")).isEmpty();
+    }
+
+    @Test
+    void search_ShouldKeepIdsSorted_WhenAddedOutOfOrder() {
+        // Arrange
+        index.add(0L, "Java Intro");
+
+        // Act & Assert
+        assertThat(index.search("Java")).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void remove_ShouldDropIdFromAllPostings() {
+        // Act
+        index.remove(1L, "Java Fundamentals");
+
+        // Assert
+        assertThat(index.search("Java")).containsExactly(2L);
+        assertThat(index.search("Fundamentals")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void add_ShouldBeIdempotent() {
+        // Act
+        index.add(1L, "Java Fundamentals");
+
+        // Assert
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("Fundamentals")).containsExactly(1L);
+    }
+
+    @Test
+    void extendAndRetract_ShouldMoveEditedTitleWithoutCountingItAgain() {
+        // Act
+        index.extend(3L, "Python Avançado");
+        long duringEdit = index.size();
+        index.retract(3L, "Python Basics", "Python Avançado");
+
+        // Assert
+        assertThat(duringEdit).isEqualTo(3);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("Avançado")).containsExactly(3L);
+        assertThat(index.search("Python")).containsExactly(3L);
+        assertThat(index.search("Basics")).isEmpty();
+    }
+
+    @Test
+    void search_ShouldRejectQueriesShorterThanATrigram() {
+        assertThat(TrigramIndex.isSearchable("ja")).isFalse();
+        assertThatThrownBy(() -> index.search("ja")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
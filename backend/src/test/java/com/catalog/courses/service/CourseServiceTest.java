@@ -1,20 +1,35 @@
 package com.catalog.courses.service;
 
+import com.catalog.courses.cache.CatalogVersion;
+import com.catalog.courses.cache.CourseCache;
+import com.catalog.courses.dto.CourseDTO;
+import com.catalog.courses.dto.CoursePage;
 import com.catalog.courses.event.CourseCreatedEvent;
+import com.catalog.courses.event.CourseEventDispatcher;
+import com.catalog.courses.metrics.CatalogMetrics;
 import com.catalog.courses.model.Course;
 import com.catalog.courses.repository.CourseRepository;
+import com.catalog.courses.search.CourseSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -28,18 +43,39 @@ class CourseServiceTest {
     private CourseRepository courseRepository;
 
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private CourseEventDispatcher eventDispatcher;
+
+    @Mock
+    private CourseSearchIndex searchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CourseCache courseCache = new CourseCache(true, 100, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Spy
+    private CourseWriteCoalescer writeCoalescer = new CourseWriteCoalescer(
+            mock(PlatformTransactionManager.class), false, 1, Duration.ZERO, 3, new SimpleMeterRegistry());
 
     @InjectMocks
     private CourseService courseService;
 
     private Course sampleCourse;
     private Course savedCourse;
+    private CourseDTO savedDto;
 
     @BeforeEach
     void setUp() {
         sampleCourse = new Course(null, "Java Básico", "Programação", 40);
         savedCourse = new Course(1L, "Java Básico", "Programação", 40);
+        savedDto = new CourseDTO(1L, "Java Básico", "Programação", 40);
     }
 
     @Test
@@ -56,7 +92,7 @@ class CourseServiceTest {
         
         // Verify event publishing
         ArgumentCaptor<CourseCreatedEvent> eventCaptor = ArgumentCaptor.forClass(CourseCreatedEvent.class);
-        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        verify(eventDispatcher, times(1)).dispatch(eventCaptor.capture());
         
         CourseCreatedEvent capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getCourse()).isEqualTo(savedCourse);
@@ -65,71 +101,71 @@ class CourseServiceTest {
     @Test
     void getAllCourses_ShouldReturnAllCourses() {
         // Arrange
-        List<Course> expectedCourses = Arrays.asList(
-            new Course(1L, "Java Básico", "Programação", 40),
-            new Course(2L, "Angular Avançado", "Frontend", 60)
+        List<CourseDTO> expectedCourses = Arrays.asList(
+            new CourseDTO(1L, "Java Básico", "Programação", 40),
+            new CourseDTO(2L, "Angular Avançado", "Frontend", 60)
         );
-        when(courseRepository.findAll()).thenReturn(expectedCourses);
+        when(courseRepository.findAllProjected()).thenReturn(expectedCourses);
         
         // Act
-        List<Course> result = courseService.getAllCourses();
+        List<CourseDTO> result = courseService.getAllCourses();
         
         // Assert
         assertEquals(expectedCourses, result);
-        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllProjected();
     }
 
     @Test
     void searchCourses_WithQuery_ShouldFilterByTitle() {
         // Arrange
         String query = "Java";
-        List<Course> expectedCourses = Arrays.asList(
-            new Course(1L, "Java Básico", "Programação", 40)
+        List<CourseDTO> expectedCourses = Arrays.asList(
+            new CourseDTO(1L, "Java Básico", "Programação", 40)
         );
         when(courseRepository.findByTituloContaining(query)).thenReturn(expectedCourses);
         
         // Act
-        List<Course> result = courseService.searchCourses(query);
+        List<CourseDTO> result = courseService.searchCourses(query);
         
         // Assert
         assertThat(result).isEqualTo(expectedCourses);
         verify(courseRepository, times(1)).findByTituloContaining(query);
-        verify(courseRepository, never()).findAll();
+        verify(courseRepository, never()).findAllProjected();
     }
 
     @Test
     void searchCourses_WithNullQuery_ShouldReturnAllCourses() {
         // Arrange
-        List<Course> allCourses = Arrays.asList(
-            new Course(1L, "Java Básico", "Programação", 40),
-            new Course(2L, "Angular Avançado", "Frontend", 60)
+        List<CourseDTO> allCourses = Arrays.asList(
+            new CourseDTO(1L, "Java Básico", "Programação", 40),
+            new CourseDTO(2L, "Angular Avançado", "Frontend", 60)
         );
-        when(courseRepository.findAll()).thenReturn(allCourses);
+        when(courseRepository.findAllProjected()).thenReturn(allCourses);
         
         // Act
-        List<Course> result = courseService.searchCourses(null);
+        List<CourseDTO> result = courseService.searchCourses(null);
         
         // Assert
         assertThat(result).isEqualTo(allCourses);
-        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllProjected();
         verify(courseRepository, never()).findByTituloContaining(any());
     }
 
     @Test
     void searchCourses_WithEmptyQuery_ShouldReturnAllCourses() {
         // Arrange
-        List<Course> allCourses = Arrays.asList(
-            new Course(1L, "Java Básico", "Programação", 40),
-            new Course(2L, "Angular Avançado", "Frontend", 60)
+        List<CourseDTO> allCourses = Arrays.asList(
+            new CourseDTO(1L, "Java Básico", "Programação", 40),
+            new CourseDTO(2L, "Angular Avançado", "Frontend", 60)
         );
-        when(courseRepository.findAll()).thenReturn(allCourses);
+        when(courseRepository.findAllProjected()).thenReturn(allCourses);
         
         // Act
-        List<Course> result = courseService.searchCourses("");
+        List<CourseDTO> result = courseService.searchCourses("");
         
         // Assert
         assertThat(result).isEqualTo(allCourses);
-        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllProjected();
         verify(courseRepository, never()).findByTituloContaining(any());
     }
 
@@ -140,7 +176,7 @@ class CourseServiceTest {
         when(courseRepository.findByTituloContaining(query)).thenReturn(Collections.emptyList());
         
         // Act
-        List<Course> result = courseService.searchCourses(query);
+        List<CourseDTO> result = courseService.searchCourses(query);
         
         // Assert
         assertThat(result).isEmpty();
@@ -150,13 +186,215 @@ class CourseServiceTest {
     @Test
     void getAllCourses_ShouldReturnEmptyListWhenNoCourses() {
         // Arrange
-        when(courseRepository.findAll()).thenReturn(Collections.emptyList());
+        when(courseRepository.findAllProjected()).thenReturn(Collections.emptyList());
         
         // Act
-        List<Course> result = courseService.getAllCourses();
+        List<CourseDTO> result = courseService.getAllCourses();
         
         // Assert
         assertThat(result).isEmpty();
-        verify(courseRepository, times(1)).findAll();
+        verify(courseRepository, times(1)).findAllProjected();
+    }
+
+    @Test
+    void searchCourses_WithIndexedQuery_ShouldFetchOnlyVerifiedCandidates() {
+        // Arrange
+        String query = "java";
+        when(searchIndex.findCandidates(query)).thenReturn(Optional.of(new long[]{1L, 3L}));
+        when(courseRepository.findProjectedByIdIn(List.of(1L, 3L))).thenReturn(Arrays.asList(
+            new CourseDTO(3L, "Avaj Avançado", "Programação", 60),
+            new CourseDTO(1L, "Java Básico", "Programação", 40)
+        ));
+
+        // Act
+        List<CourseDTO> result = courseService.searchCourses(query);
+
+        // Assert
+        assertThat(result).extracting(CourseDTO::getId).containsExactly(1L);
+        verify(courseRepository, never()).findByTituloContaining(any());
+    }
+
+    @Test
+    void searchCourses_WithIndexedQuery_ShouldReturnResultsInIdOrder() {
+        // Arrange
+        String query = "Java";
+        when(searchIndex.findCandidates(query)).thenReturn(Optional.of(new long[]{2L, 5L}));
+        when(courseRepository.findProjectedByIdIn(List.of(2L, 5L))).thenReturn(Arrays.asList(
+            new CourseDTO(2L, "Java Básico", "Programação", 40),
+            new CourseDTO(5L, "JavaScript", "Frontend", 30)
+        ));
+
+        // Act
+        List<CourseDTO> result = courseService.searchCourses(query);
+
+        // Assert
+        assertThat(result).extracting(CourseDTO::getId).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void findPage_WithoutQuery_ShouldSeekByIdAndReturnNextCursor() {
+        // Arrange
+        when(courseRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(Arrays.asList(
+            new CourseDTO(11L, "Java Básico", "Programação", 40),
+            new CourseDTO(12L, "Angular Avançado", "Frontend", 60),
+            new CourseDTO(13L, "Docker", "DevOps", 30)
+        ));
+
+        // Act
+        CoursePage page = courseService.findPage(null, 10L, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(CourseDTO::getId).containsExactly(11L, 12L);
+        assertThat(page.getNextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void findPage_ShouldReturnNullCursor_OnLastPage() {
+        // Arrange
+        when(courseRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+            .thenReturn(List.of(savedDto));
+
+        // Act
+        CoursePage page = courseService.findPage("", null, 2);
+
+        // Assert
+        assertThat(page.getItems()).containsExactly(savedDto);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_WithIndexedQuery_ShouldStartAfterCursor() {
+        // Arrange
+        when(searchIndex.findCandidates("Java")).thenReturn(Optional.of(new long[]{1L, 4L, 7L, 9L}));
+        when(courseRepository.findProjectedByIdIn(List.of(7L, 9L))).thenReturn(Arrays.asList(
+            new CourseDTO(7L, "Java Web", "Backend", 40),
+            new CourseDTO(9L, "JavaScript", "Frontend", 30)
+        ));
+
+        // Act
+        CoursePage page = courseService.findPage("Java", 4L, 1);
+
+        // Assert
+        assertThat(page.getItems()).extracting(CourseDTO::getId).containsExactly(7L);
+        assertThat(page.getNextCursor()).isEqualTo(7L);
+    }
+
+    @Test
+    void findPage_WithQueryAndNoIndex_ShouldUseKeysetLikeQuery() {
+        // Arrange
+        when(courseRepository.findByTituloContainingAfter("ja", 5L, Limit.of(11))).thenReturn(List.of(savedDto));
+
+        // Act
+        CoursePage page = courseService.findPage("ja", 5L, 10);
+
+        // Assert
+        assertThat(page.getItems()).containsExactly(savedDto);
+        verify(courseRepository, never()).findByTituloContaining(any());
+    }
+
+    @Test
+    void streamAllCourses_ShouldDeliverEachProjectedCourse() {
+        // Arrange
+        CourseDTO first = new CourseDTO(1L, "Java Básico", "Programação", 40);
+        CourseDTO second = new CourseDTO(2L, "Angular Avançado", "Frontend", 60);
+        when(courseRepository.streamAll()).thenReturn(Stream.of(first, second));
+        List<CourseDTO> received = new ArrayList<>();
+
+        // Act
+        courseService.streamAllCourses(received::add);
+
+        // Assert
+        assertThat(received).containsExactly(first, second);
+        verify(courseRepository, never()).findAllProjected();
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void searchCourses_ShouldRecordLatencyAndResultSize() {
+        // Arrange
+        when(courseRepository.findByTituloContaining("Java"))
+                .thenReturn(Arrays.asList(savedDto, new CourseDTO(2L, "Java Avançado", "Programação", 60)));
+
+        // Act
+        courseService.searchCourses("Java");
+
+        // Assert
+        assertThat(meterRegistry.get(CatalogMetrics.SERVICE).tag("operation", "search").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(CatalogMetrics.SEARCH_RESULTS).summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get(CatalogMetrics.SERVICE).tag("operation", "list").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void findCourseById_ShouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        when(courseRepository.findProjectedById(1L)).thenReturn(Optional.of(savedDto));
+
+        // Act
+        Optional<CourseDTO> first = courseService.findCourseById(1L);
+        Optional<CourseDTO> second = courseService.findCourseById(1L);
+
+        // Assert
+        assertThat(first).contains(savedDto);
+        assertThat(second).contains(savedDto);
+        verify(courseRepository, times(1)).findProjectedById(1L);
+        assertThat(courseCache.byIdStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void rankCourses_ShouldFetchRankedIdsAndKeepIndexOrder() {
+        // Arrange
+        CourseDTO second = new CourseDTO(7L, "Introdução ao Java", "Programação", 40);
+        when(searchIndex.rank("introducao", 5)).thenReturn(Optional.of(new long[]{7L, 1L, 9L}));
+        when(courseRepository.findProjectedByIdIn(List.of(7L, 1L, 9L))).thenReturn(List.of(savedDto, second));
+
+        // Act
+        List<CourseDTO> results = courseService.rankCourses("introducao", 5);
+
+        // Assert
+        assertThat(results).containsExactly(second, savedDto);
+        assertThat(meterRegistry.get(CatalogMetrics.SERVICE).tag("operation", "rank").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rankCourses_ShouldFallBackToTitleQuery_WhenIndexIsNotReady() {
+        // Arrange
+        when(searchIndex.rank("Java", 5)).thenReturn(Optional.empty());
+        when(courseRepository.findByTituloContainingAfter("Java", Long.MIN_VALUE, Limit.of(5)))
+                .thenReturn(List.of(savedDto));
+
+        // Act & Assert
+        assertThat(courseService.rankCourses("Java", 5)).containsExactly(savedDto);
+        assertThat(courseService.rankCourses(" ", 5)).isEmpty();
+    }
+
+    @Test
+    void suggestTitles_ShouldServeFromIndexAndFallBackToDistinctTitles() {
+        // Arrange
+        when(searchIndex.suggest("jav", 3)).thenReturn(Optional.of(List.of("Java Fundamentals")));
+        when(searchIndex.suggest("Fund", 3)).thenReturn(Optional.empty());
+        when(courseRepository.findByTituloContainingAfter("Fund", Long.MIN_VALUE, Limit.of(3)))
+                .thenReturn(List.of(savedDto, new CourseDTO(9L, savedDto.getTitulo(), "Backend", 20)));
+
+        // Act & Assert
+        assertThat(courseService.suggestTitles("jav", 3)).containsExactly("Java Fundamentals");
+        assertThat(courseService.suggestTitles("Fund", 3)).containsExactly(savedDto.getTitulo());
+        assertThat(courseService.suggestTitles("", 3)).isEmpty();
+    }
+
+    @Test
+    void createCourse_ShouldBumpCatalogVersion() {
+        // Arrange
+        when(courseRepository.save(any(Course.class))).thenReturn(savedCourse);
+        CatalogVersion.Stamp before = catalogVersion.current();
+
+        // Act
+        courseService.createCourse(sampleCourse);
+
+        // Assert
+        assertThat(catalogVersion.current().getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(catalogVersion.current().getEtag()).isNotEqualTo(before.getEtag());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.catalog.courses.service;
+
+import com.catalog.courses.model.Course;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CourseWriteCoalescerTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong ids = new AtomicLong();
+    private CourseWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void write_ShouldGroupConcurrentWritesAndReturnEachCallerItsOwnCourse() throws Exception {
+        // Arrange
+        coalescer = new CourseWriteCoalescer(transactionManager, true, 16, Duration.ofMillis(200), 3, meterRegistry);
+        UnaryOperator<Course> save = course -> new Course(ids.incrementAndGet(), course.getTitulo(),
+                course.getCategoria(), course.getCargaHoraria());
+
+        // Act
+        List<Course> results = writeConcurrently(8, save);
+
+        // Assert
+        for (int i = 0; i < 8; i++) {
+            assertThat(results.get(i).getTitulo()).isEqualTo("Curso " + i);
+            assertThat(results.get(i).getId()).isNotNull();
+        }
+        assertThat(results).extracting(Course::getId).doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("catalog.write.group.size").summary().max()).isGreaterThan(1);
+        verify(transactionManager, atMost(7)).getTransaction(any());
+    }
+
+    @Test
+    void write_ShouldFailOnlyTheOffendingCallerWhenTheGroupRollsBack() throws Exception {
+        // Arrange
+        coalescer = new CourseWriteCoalescer(transactionManager, true, 16, Duration.ofMillis(200), 3, meterRegistry);
+        UnaryOperator<Course> save = course -> {
+            if (course.getTitulo().equals("Curso 3")) {
+                throw new IllegalArgumentException("título recusado");
+            }
+            return new Course(ids.incrementAndGet(), course.getTitulo(), course.getCategoria(), course.getCargaHoraria());
+        };
+
+        // Act
+        List<Future<Course>> futures = submitConcurrently(6, save);
+
+        // Assert
+        for (int i = 0; i < 6; i++) {
+            Future<Course> future = futures.get(i);
+            if (i == 3) {
+                assertThatThrownBy(future::get).hasCauseInstanceOf(IllegalArgumentException.class);
+            } else {
+                assertThat(future.get().getTitulo()).isEqualTo("Curso " + i);
+            }
+        }
+    }
+
+    @Test
+    void write_ShouldStopRetryingAloneAfterMaxRetryFailures() throws Exception {
+        // Arrange - o banco recusa tudo; com limite 1, só a primeira escrita é refeita sozinha
+        coalescer = new CourseWriteCoalescer(transactionManager, true, 16, Duration.ofMillis(200), 1, meterRegistry);
+        AtomicLong attempts = new AtomicLong();
+        UnaryOperator<Course> save = course -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("banco indisponível");
+        };
+
+        // Act
+        List<Future<Course>> futures = submitConcurrently(6, save);
+
+        // Assert
+        for (Future<Course> future : futures) {
+            assertThatThrownBy(future::get).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        long groups = (long) meterRegistry.get("catalog.write.group.size").summary().count();
+        assertThat(attempts.get()).isLessThanOrEqualTo(2 * groups);
+    }
+
+    @Test
+    void write_ShouldRunInlineWhenDisabled() {
+        // Arrange
+        coalescer = new CourseWriteCoalescer(transactionManager, false, 16, Duration.ofMillis(200), 3, meterRegistry);
+        Thread caller = Thread.currentThread();
+
+        // Act
+        Course result = coalescer.write(course(0), course -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return course;
+        });
+
+        // Assert
+        assertThat(result.getTitulo()).isEqualTo("Curso 0");
+        verify(transactionManager, times(1)).getTransaction(any());
+        assertThat(meterRegistry.get("catalog.write.group.size").summary().count()).isZero();
+    }
+
+    @Test
+    void write_ShouldJoinTheCallersTransactionInsteadOfQueueing() {
+        // Arrange
+        coalescer = new CourseWriteCoalescer(transactionManager, true, 16, Duration.ofMillis(200), 3, meterRegistry);
+        Thread caller = Thread.currentThread();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        try {
+            coalescer.write(course(0), course -> {
+                assertThat(Thread.currentThread()).isSameAs(caller);
+                return course;
+            });
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        assertThat(meterRegistry.get("catalog.write.group.size").summary().count()).isZero();
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveBatch() {
+        assertThatThrownBy(() -> new CourseWriteCoalescer(transactionManager, false, 0, Duration.ZERO, 3, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Course> writeConcurrently(int writers, UnaryOperator<Course> save) throws Exception {
+        List<Course> results = new ArrayList<>();
+        for (Future<Course> future : submitConcurrently(writers, save)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private List<Future<Course>> submitConcurrently(int writers, UnaryOperator<Course> save) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Course>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                Course course = course(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return coalescer.write(course, save);
+                }));
+            }
+            start.countDown();
+        }
+        return futures;
+    }
+
+    private static Course course(int i) {
+        return new Course(null, "Curso " + i, "Programação", 40);
+    }
+}